@@ -0,0 +1,23 @@
+package basicticketmanagement.attachment;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+
+/**
+ * Attachment storage settings, bound from the {@code attachments.*} properties.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "attachments")
+public class AttachmentProperties {
+
+    // Directory of the content-addressed file store
+    private Path root = Path.of("data", "attachments");
+
+    // Uploads larger than this are rejected with 413
+    private DataSize maxSize = DataSize.ofMegabytes(25);
+}
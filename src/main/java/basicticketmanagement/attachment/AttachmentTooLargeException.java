@@ -0,0 +1,11 @@
+package basicticketmanagement.attachment;
+
+/**
+ * Thrown when an upload exceeds {@code attachments.max-size}.
+ */
+public class AttachmentTooLargeException extends RuntimeException {
+
+    public AttachmentTooLargeException(long maxSize) {
+        super("Attachment exceeds the maximum size of " + maxSize + " bytes");
+    }
+}
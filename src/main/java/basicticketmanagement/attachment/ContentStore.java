@@ -0,0 +1,134 @@
+package basicticketmanagement.attachment;
+
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Content-addressed file store for attachment bodies.
+ * <p>
+ * Content is streamed through a fixed buffer into a temporary file while its SHA-256 is computed,
+ * then moved to {@code <root>/<ab>/<cd>/<sha256>}. Identical uploads therefore share one file.
+ * The store knows nothing about who references a file; callers decide when it can be deleted.
+ */
+@Component
+public class ContentStore {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path root;
+    private final Path tmp;
+
+    public ContentStore(AttachmentProperties properties) throws IOException {
+        this.root = properties.getRoot().toAbsolutePath().normalize();
+        this.tmp = root.resolve("tmp");
+        Files.createDirectories(tmp);
+    }
+
+    /**
+     * Streams content into a temporary file, hashing it on the way.
+     *
+     * @param in      The content; read to the end but not buffered in memory.
+     * @param maxSize The maximum number of bytes accepted.
+     * @return The temporary content, to be passed to {@link #commit} or {@link #discard}.
+     * @throws AttachmentTooLargeException if the content is longer than maxSize.
+     */
+    public StoredContent write(InputStream in, long maxSize) throws IOException {
+        Path temp = Files.createTempFile(tmp, "upload-", ".part");
+        MessageDigest digest = sha256();
+        long size = 0;
+        boolean written = false;
+        try (ReadableByteChannel source = Channels.newChannel(in);
+             FileChannel target = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            while (source.read(buffer) != -1) {
+                buffer.flip();
+                size += buffer.remaining();
+                if (size > maxSize) {
+                    throw new AttachmentTooLargeException(maxSize);
+                }
+                digest.update(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+                while (buffer.hasRemaining()) {
+                    target.write(buffer);
+                }
+                buffer.clear();
+            }
+            target.force(false);
+            written = true;
+        } finally {
+            if (!written) {
+                Files.deleteIfExists(temp);
+            }
+        }
+        return new StoredContent(temp, HexFormat.of().formatHex(digest.digest()), size);
+    }
+
+    /**
+     * Moves temporary content to its content address.
+     *
+     * @param content The content returned by {@link #write}.
+     * @return true if the file is new, false if identical content was already stored.
+     */
+    public boolean commit(StoredContent content) throws IOException {
+        Path target = path(content.sha256());
+        if (Files.exists(target)) {
+            Files.deleteIfExists(content.tempFile());
+            return false;
+        }
+        Files.createDirectories(target.getParent());
+        try {
+            Files.move(content.tempFile(), target, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (FileAlreadyExistsException e) {
+            Files.deleteIfExists(content.tempFile());
+            return false;
+        }
+    }
+
+    /**
+     * Deletes temporary content that will not be committed.
+     */
+    public void discard(StoredContent content) {
+        try {
+            Files.deleteIfExists(content.tempFile());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Deletes stored content. Missing files are ignored.
+     */
+    public void delete(String sha256) throws IOException {
+        Files.deleteIfExists(path(sha256));
+    }
+
+    public Path path(String sha256) {
+        if (sha256.length() != 64 || !sha256.chars().allMatch(HexFormat::isHexDigit)) {
+            throw new IllegalArgumentException("Not a SHA-256 hex digest: " + sha256);
+        }
+        return root.resolve(sha256.substring(0, 2)).resolve(sha256.substring(2, 4)).resolve(sha256);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
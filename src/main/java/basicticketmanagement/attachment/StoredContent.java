@@ -0,0 +1,13 @@
+package basicticketmanagement.attachment;
+
+import java.nio.file.Path;
+
+/**
+ * Content written to the store but not yet committed under its hash.
+ *
+ * @param tempFile The temporary file holding the content.
+ * @param sha256   Hex SHA-256 of the content.
+ * @param size     Size of the content in bytes.
+ */
+public record StoredContent(Path tempFile, String sha256, long size) {
+}
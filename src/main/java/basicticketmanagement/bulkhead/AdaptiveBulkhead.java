@@ -0,0 +1,97 @@
+package basicticketmanagement.bulkhead;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrency limiter whose limit follows observed latency (AIMD).
+ * <p>
+ * Admission is a CAS on the in-flight counter. When a request completes, a fast response while the
+ * bulkhead is at least half used grows the limit by {@code 1/limit} (about +1 per limit's worth of
+ * requests); a slow or failed response shrinks it by {@code backoffRatio}, at most once per latency
+ * threshold so one burst of slow responses does not collapse the limit to its minimum.
+ */
+public final class AdaptiveBulkhead {
+
+    private final BulkheadType type;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    private volatile double limit;
+    private long lastDecreaseNanos; // guarded by this
+
+    public AdaptiveBulkhead(BulkheadType type, BulkheadProperties.Limit settings) {
+        this.type = type;
+        this.minLimit = Math.max(1, settings.getMinLimit());
+        this.maxLimit = Math.max(this.minLimit, settings.getMaxLimit());
+        this.latencyThresholdNanos = settings.getLatencyThreshold().toNanos();
+        this.backoffRatio = settings.getBackoffRatio();
+        this.limit = Math.min(maxLimit, Math.max(minLimit, settings.getInitialLimit()));
+        this.lastDecreaseNanos = System.nanoTime() - latencyThresholdNanos;
+    }
+
+    /**
+     * Admits a request if the bulkhead is below its current limit.
+     *
+     * @return true if admitted; the caller must then call {@link #release(long, boolean)}.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Completes an admitted request and feeds its outcome into the limit.
+     *
+     * @param latencyNanos How long the request took.
+     * @param failed       Whether the request failed with a server error.
+     */
+    public void release(long latencyNanos, boolean failed) {
+        int wasInFlight = inFlight.getAndDecrement();
+        if (failed || latencyNanos > latencyThresholdNanos) {
+            decrease();
+        } else if (wasInFlight * 2 >= limit) {
+            increase();
+        }
+    }
+
+    private synchronized void increase() {
+        limit = Math.min(maxLimit, limit + 1.0 / limit);
+    }
+
+    private synchronized void decrease() {
+        long now = System.nanoTime();
+        if (now - lastDecreaseNanos >= latencyThresholdNanos) {
+            lastDecreaseNanos = now;
+            limit = Math.max(minLimit, limit * backoffRatio);
+        }
+    }
+
+    public BulkheadType getType() {
+        return type;
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+}
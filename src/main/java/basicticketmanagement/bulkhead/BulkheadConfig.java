@@ -0,0 +1,37 @@
+package basicticketmanagement.bulkhead;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Creates one adaptive bulkhead per traffic class and publishes their live limit, in-flight count
+ * and rejections as metrics ({@code bulkhead.limit}, {@code bulkhead.inflight}, {@code bulkhead.rejected},
+ * tagged by {@code type}). The filter applying them is part of the security filter chain, see SecurityConfig.
+ */
+@Configuration
+public class BulkheadConfig {
+
+    @Bean
+    public BulkheadRegistry bulkheadRegistry(BulkheadProperties properties, MeterRegistry meterRegistry) {
+        BulkheadRegistry registry = new BulkheadRegistry(properties);
+        for (AdaptiveBulkhead bulkhead : registry.all()) {
+            String tag = bulkhead.getType().name().toLowerCase();
+            Gauge.builder("bulkhead.limit", bulkhead, AdaptiveBulkhead::getLimit)
+                    .tag("type", tag)
+                    .description("Current adaptive concurrency limit")
+                    .register(meterRegistry);
+            Gauge.builder("bulkhead.inflight", bulkhead, AdaptiveBulkhead::getInFlight)
+                    .tag("type", tag)
+                    .description("Requests currently admitted")
+                    .register(meterRegistry);
+            FunctionCounter.builder("bulkhead.rejected", bulkhead, AdaptiveBulkhead::getRejected)
+                    .tag("type", tag)
+                    .description("Requests shed with 503")
+                    .register(meterRegistry);
+        }
+        return registry;
+    }
+}
@@ -0,0 +1,91 @@
+package basicticketmanagement.bulkhead;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Security filter that runs every request inside the bulkhead of its traffic class.
+ * It sits in the Spring Security chain after the session user is restored and just before the
+ * login filter, so login attempts are limited before BCrypt runs. Other requests without an
+ * authenticated user bypass the bulkheads: authorization rejects them right away, and an anonymous
+ * flood must not use up the capacity of signed-in users.
+ * <p>
+ * A request arriving when its bulkhead is full gets an immediate 503 instead of queueing on the
+ * shared Tomcat threads and Hikari pool. The home page and actuator endpoints bypass the
+ * bulkheads so health checks keep answering under load.
+ */
+public class BulkheadFilter extends OncePerRequestFilter {
+
+    private final BulkheadRegistry bulkheads;
+
+    public BulkheadFilter(BulkheadRegistry bulkheads) {
+        this.bulkheads = bulkheads;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        BulkheadType type = classify(request.getMethod(), path);
+        if (type == null || (!path.equals("/login") && !isAuthenticated())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        AdaptiveBulkhead bulkhead = bulkheads.get(type);
+        if (!bulkhead.tryAcquire()) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            return;
+        }
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = response.getStatus() >= 500;
+        } finally {
+            bulkhead.release(System.nanoTime() - start, failed);
+        }
+    }
+
+    private static boolean isAuthenticated() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken);
+    }
+
+    static BulkheadType classify(String method, String path) {
+        if (path.equals("/") || path.startsWith("/actuator")) {
+            return null;
+        }
+        if (path.equals("/login")) {
+            return BulkheadType.AUTH;
+        }
+        if (path.startsWith("/reports") || path.equals("/customers/import")) {
+            return BulkheadType.EXPORT;
+        }
+        if (path.startsWith("/tickets/") && path.contains("/attachments")) {
+            return BulkheadType.TRANSFER;
+        }
+        boolean read = method.equals("GET") || method.equals("HEAD") || method.equals("OPTIONS");
+        if (read) {
+            return BulkheadType.READ;
+        }
+        // Creating or updating a user hashes a password
+        if ((method.equals("POST") || method.equals("PUT"))
+                && (path.startsWith("/customers") || path.startsWith("/engineers"))) {
+            return BulkheadType.AUTH;
+        }
+        return BulkheadType.WRITE;
+    }
+}
@@ -0,0 +1,55 @@
+package basicticketmanagement.bulkhead;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Bulkhead settings, bound from the {@code bulkhead.*} properties.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "bulkhead")
+public class BulkheadProperties {
+
+    private boolean enabled = true;
+
+    private Limit read = new Limit(40, 4, 150, Duration.ofMillis(250));
+    private Limit write = new Limit(20, 2, 80, Duration.ofMillis(500));
+    private Limit auth = new Limit(4, 1, 16, Duration.ofSeconds(1));
+    private Limit export = new Limit(2, 1, 4, Duration.ofSeconds(10));
+    private Limit transfer = new Limit(16, 2, 64, Duration.ofSeconds(30));
+
+    public Limit forType(BulkheadType type) {
+        return switch (type) {
+            case READ -> read;
+            case WRITE -> write;
+            case AUTH -> auth;
+            case EXPORT -> export;
+            case TRANSFER -> transfer;
+        };
+    }
+
+    @Getter
+    @Setter
+    public static class Limit {
+        private int initialLimit;
+        private int minLimit;
+        private int maxLimit;
+        // Requests slower than this count as a sign of overload and shrink the limit
+        private Duration latencyThreshold;
+        private double backoffRatio = 0.9;
+
+        public Limit() {
+        }
+
+        public Limit(int initialLimit, int minLimit, int maxLimit, Duration latencyThreshold) {
+            this.initialLimit = initialLimit;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+            this.latencyThreshold = latencyThreshold;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package basicticketmanagement.bulkhead;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Holds the bulkhead of every traffic class.
+ */
+public class BulkheadRegistry {
+
+    private final Map<BulkheadType, AdaptiveBulkhead> bulkheads = new EnumMap<>(BulkheadType.class);
+
+    public BulkheadRegistry(BulkheadProperties properties) {
+        for (BulkheadType type : BulkheadType.values()) {
+            bulkheads.put(type, new AdaptiveBulkhead(type, properties.forType(type)));
+        }
+    }
+
+    public AdaptiveBulkhead get(BulkheadType type) {
+        return bulkheads.get(type);
+    }
+
+    public Collection<AdaptiveBulkhead> all() {
+        return Collections.unmodifiableCollection(bulkheads.values());
+    }
+}
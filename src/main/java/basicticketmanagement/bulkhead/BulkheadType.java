@@ -0,0 +1,18 @@
+package basicticketmanagement.bulkhead;
+
+/**
+ * Traffic classes that get their own concurrency limit, so a slow class cannot
+ * take the request threads and connections the others need.
+ */
+public enum BulkheadType {
+    // GET requests: cheap, mostly single-row reads
+    READ,
+    // Creates, updates, deletes and acknowledgements
+    WRITE,
+    // Login and user registration, dominated by BCrypt CPU time
+    AUTH,
+    // Reports and bulk imports, few but long running
+    EXPORT,
+    // Attachment uploads and downloads, paced by the client's bandwidth
+    TRANSFER
+}
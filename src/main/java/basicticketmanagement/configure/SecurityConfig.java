@@ -1,6 +1,12 @@
 package basicticketmanagement.configure;
 
+import basicticketmanagement.bulkhead.BulkheadFilter;
+import basicticketmanagement.bulkhead.BulkheadProperties;
+import basicticketmanagement.bulkhead.BulkheadRegistry;
 import basicticketmanagement.model.UserRole;
+import basicticketmanagement.ratelimit.RateLimitFilter;
+import basicticketmanagement.ratelimit.RateLimitProperties;
+import basicticketmanagement.ratelimit.RateLimiter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -15,6 +21,7 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -35,18 +42,34 @@ public class SecurityConfig {
      * Defines which requests require authentication and which roles are allowed for specific endpoints.
      *
      * @param http The HttpSecurity object to configure.
+     * @param rateLimiter The per-client token bucket store.
+     * @param rateLimitProperties The rate limit groups.
+     * @param bulkheadRegistry The adaptive bulkheads per traffic class.
+     * @param bulkheadProperties The bulkhead settings.
      * @return The configured SecurityFilterChain.
      * @throws Exception if an error occurs during configuration.
      */
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, RateLimiter rateLimiter,
+                                                   RateLimitProperties rateLimitProperties,
+                                                   BulkheadRegistry bulkheadRegistry,
+                                                   BulkheadProperties bulkheadProperties) throws Exception {
+        // Not beans on purpose: Boot would otherwise also register them as plain servlet filters
+        http.addFilterBefore(new RateLimitFilter(rateLimiter, rateLimitProperties), UsernamePasswordAuthenticationFilter.class);
+        if (bulkheadProperties.isEnabled()) {
+            // After the rate limiter, so over-limit clients are turned away before taking a bulkhead slot
+            http.addFilterBefore(new BulkheadFilter(bulkheadRegistry), UsernamePasswordAuthenticationFilter.class);
+        }
         http
                 .csrf(AbstractHttpConfigurer::disable) // Disable CSRF for simplicity, typically enabled for web apps
                 .cors(cors -> cors.configurationSource(corsConfigurationSource())) // Use the CorsConfigurationSource bean
                 .authorizeHttpRequests(authorize -> authorize
                         .requestMatchers("/auth/**", "/").permitAll() // Allow public access to auth endpoints and home
-                        .requestMatchers("/customers").hasRole(UserRole.ENGINEER.name()) // Only engineers can register customers
+                        .requestMatchers("/actuator/health").permitAll() // Health checks from load balancers
+                        .requestMatchers("/customers", "/customers/import").hasRole(UserRole.ENGINEER.name()) // Only engineers can register customers
+                        .requestMatchers("/tickets/claim").hasRole(UserRole.ENGINEER.name()) // Only engineers work the queue
                         .requestMatchers("/tickets").hasRole(UserRole.CUSTOMER.name()) // Only customers can create tickets
+                        .requestMatchers("/reports/**").hasRole(UserRole.ENGINEER.name()) // Reports are for engineers
                         .anyRequest().authenticated() // All other requests require authentication
                 )
                 .sessionManagement(session -> session
@@ -1,11 +1,16 @@
 package basicticketmanagement.controller;
 
+import basicticketmanagement.dto.CustomerImportReportDTO;
 import basicticketmanagement.model.Customer;
+import basicticketmanagement.service.CustomerImportService;
 import basicticketmanagement.service.CustomerService;
+import basicticketmanagement.service.IdempotencyService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -15,13 +20,28 @@ public class CustomerController {
 
 
     private final CustomerService customerService;
+    private final IdempotencyService idempotencyService;
+    private final CustomerImportService customerImportService;
 
     @PostMapping
-    public ResponseEntity<Customer> createCustomer(@RequestBody Customer customer) {
+    public ResponseEntity<Customer> createCustomer(
+            @RequestBody Customer customer,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
         if (customer.getId() != null) {
             return ResponseEntity.badRequest().build();
         }
-        return ResponseEntity.ok(customerService.createCustomer(customer));
+        return idempotencyService.execute("customers", idempotencyKey, customer, Customer.class,
+                () -> ResponseEntity.ok(customerService.createCustomer(customer)));
+    }
+
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<CustomerImportReportDTO> importCustomersCsv(InputStream body) throws IOException {
+        return ResponseEntity.ok(customerImportService.importCustomers(body, CustomerImportService.Format.CSV));
+    }
+
+    @PostMapping(value = "/import", consumes = "application/x-ndjson")
+    public ResponseEntity<CustomerImportReportDTO> importCustomersNdjson(InputStream body) throws IOException {
+        return ResponseEntity.ok(customerImportService.importCustomers(body, CustomerImportService.Format.NDJSON));
     }
 
     @PutMapping("/{id}")
@@ -2,6 +2,7 @@ package basicticketmanagement.controller;
 
 import basicticketmanagement.model.Engineer;
 import basicticketmanagement.service.EngineerService;
+import basicticketmanagement.service.IdempotencyService;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -15,11 +16,16 @@ import java.util.List;
 public class EngineerController {
 
     private final EngineerService engineerService;
+    private final IdempotencyService idempotencyService;
 
     @PostMapping
-    public ResponseEntity<Engineer> createEngineer(@RequestBody Engineer engineer) {
-        Engineer saved = engineerService.createEngineer(engineer);
-        return ResponseEntity.ok(saved);
+    public ResponseEntity<Engineer> createEngineer(
+            @RequestBody Engineer engineer,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        return idempotencyService.execute("engineers", idempotencyKey, engineer, Engineer.class, () -> {
+            Engineer saved = engineerService.createEngineer(engineer);
+            return ResponseEntity.ok(saved);
+        });
     }
 
     @GetMapping
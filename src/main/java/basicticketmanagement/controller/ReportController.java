@@ -0,0 +1,88 @@
+package basicticketmanagement.controller;
+
+import basicticketmanagement.dto.TicketReportBucketDTO;
+import basicticketmanagement.dto.TicketReportSummaryDTO;
+import basicticketmanagement.model.RollupGranularity;
+import basicticketmanagement.service.ReportService;
+import basicticketmanagement.service.TicketRollupService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST Controller for ticket activity reports.
+ * All reports are answered from the hourly and daily rollups, never from the tickets table.
+ */
+@RestController
+@RequestMapping("/reports")
+@RequiredArgsConstructor
+public class ReportController {
+
+    private final ReportService reportService;
+    private final TicketRollupService ticketRollupService;
+
+    /**
+     * Summarises ticket activity over a range: counts per status, mean time to acknowledge,
+     * the acknowledgement latency histogram and per-engineer close rates.
+     *
+     * @param from       Start of the range (ISO-8601 instant).
+     * @param to         End of the range, exclusive (ISO-8601 instant).
+     * @param engineerId Optional engineer to restrict the report to.
+     * @return ResponseEntity containing the summary (HTTP 200 OK),
+     * or HTTP status 400 (Bad Request) if the range is empty.
+     */
+    @GetMapping("/tickets/summary")
+    public ResponseEntity<TicketReportSummaryDTO> getSummary(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(required = false) Long engineerId) {
+        if (!from.isBefore(to)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(reportService.summary(from, to, engineerId));
+    }
+
+    /**
+     * Returns ticket activity per hour or per day, e.g. tickets created per hour.
+     *
+     * @param from        Start of the range (ISO-8601 instant).
+     * @param to          End of the range, exclusive (ISO-8601 instant).
+     * @param granularity HOUR or DAY.
+     * @param engineerId  Optional engineer to restrict the series to.
+     * @return ResponseEntity containing the buckets (HTTP 200 OK),
+     * or HTTP status 400 (Bad Request) if the range is empty.
+     */
+    @GetMapping("/tickets/series")
+    public ResponseEntity<List<TicketReportBucketDTO>> getSeries(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(defaultValue = "HOUR") RollupGranularity granularity,
+            @RequestParam(required = false) Long engineerId) {
+        if (!from.isBefore(to)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(reportService.series(from, to, granularity, engineerId));
+    }
+
+    /**
+     * Rebuilds the rollups of past days from the ticket status history.
+     *
+     * @param from Start of the range (ISO-8601 instant), widened to the start of its day.
+     * @param to   End of the range (ISO-8601 instant), widened to the end of its day but never past today.
+     * @return ResponseEntity containing the number of history events aggregated (HTTP 200 OK).
+     */
+    @PostMapping("/tickets/backfill")
+    public ResponseEntity<Map<String, Long>> backfill(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+        if (!from.isBefore(to)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(Map.of("events", ticketRollupService.backfill(from, to)));
+    }
+}
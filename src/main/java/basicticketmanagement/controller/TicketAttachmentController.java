@@ -0,0 +1,154 @@
+package basicticketmanagement.controller;
+
+import basicticketmanagement.attachment.AttachmentProperties;
+import basicticketmanagement.attachment.AttachmentTooLargeException;
+import basicticketmanagement.attachment.FileDownloads;
+import basicticketmanagement.dto.TicketAttachmentDTO;
+import basicticketmanagement.model.TicketAttachment;
+import basicticketmanagement.service.TicketAttachmentService;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * REST Controller for the attachments of a Ticket.
+ * Uploads are sent as the raw request body (not multipart), so they can be streamed
+ * to the file store without being buffered; the file name travels as a query parameter.
+ */
+@RestController
+@RequestMapping("/tickets/{ticketId}/attachments")
+@RequiredArgsConstructor
+public class TicketAttachmentController {
+
+    private static final int MAX_FILENAME_LENGTH = 255;
+
+    private final TicketAttachmentService ticketAttachmentService;
+    private final FileDownloads fileDownloads;
+    private final AttachmentProperties attachmentProperties;
+
+    /**
+     * Attaches a file to a Ticket.
+     *
+     * @param ticketId    The ID of the ticket.
+     * @param filename    The name of the file.
+     * @param contentType The content type of the body; application/octet-stream if absent.
+     * @param body        The file content.
+     * @return ResponseEntity containing the attachment metadata and HTTP status 201 (Created),
+     * HTTP status 400 (Bad Request) if the file name or content type is invalid,
+     * HTTP status 404 (Not Found) if the ticket does not exist,
+     * HTTP status 413 (Payload Too Large) if the file exceeds the size limit,
+     * or HTTP status 415 (Unsupported Media Type) for form or multipart bodies.
+     */
+    @PostMapping
+    public ResponseEntity<TicketAttachmentDTO> upload(
+            @PathVariable Long ticketId,
+            @RequestParam String filename,
+            @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+            HttpServletRequest request,
+            InputStream body) {
+        String name = baseName(filename);
+        if (name.isEmpty() || name.length() > MAX_FILENAME_LENGTH) {
+            return ResponseEntity.badRequest().build();
+        }
+        MediaType mediaType;
+        try {
+            mediaType = contentType == null ? MediaType.APPLICATION_OCTET_STREAM : MediaType.parseMediaType(contentType);
+        } catch (InvalidMediaTypeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (MediaType.APPLICATION_FORM_URLENCODED.includes(mediaType) || MediaType.MULTIPART_FORM_DATA.includes(mediaType)) {
+            return ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE).build();
+        }
+        // Refuse early when the client announces an oversized body
+        if (request.getContentLengthLong() > attachmentProperties.getMaxSize().toBytes()) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+        try {
+            TicketAttachment attachment = ticketAttachmentService.upload(ticketId, name, mediaType.toString(), body);
+            return new ResponseEntity<>(TicketAttachmentDTO.from(attachment), HttpStatus.CREATED);
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (AttachmentTooLargeException e) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+    }
+
+    /**
+     * Lists the attachments of a Ticket.
+     *
+     * @param ticketId The ID of the ticket.
+     * @return ResponseEntity containing the attachment metadata, oldest first (HTTP 200 OK),
+     * or HTTP status 404 (Not Found) if the ticket does not exist.
+     */
+    @GetMapping
+    public ResponseEntity<List<TicketAttachmentDTO>> getAttachments(@PathVariable Long ticketId) {
+        try {
+            return ResponseEntity.ok(ticketAttachmentService.getAttachments(ticketId).stream()
+                    .map(TicketAttachmentDTO::from)
+                    .toList());
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Downloads an attachment. Supports single byte ranges (Range, If-Range) and
+     * conditional requests (If-None-Match) against the content hash ETag.
+     * Responds with HTTP status 200 (OK) or 206 (Partial Content) and the content,
+     * 304 (Not Modified), 416 (Range Not Satisfiable),
+     * or 404 (Not Found) if the attachment does not exist.
+     *
+     * @param ticketId     The ID of the ticket.
+     * @param attachmentId The ID of the attachment.
+     */
+    @GetMapping("/{attachmentId}")
+    public void download(@PathVariable Long ticketId,
+                         @PathVariable Long attachmentId,
+                         HttpServletRequest request,
+                         HttpServletResponse response) throws IOException {
+        Optional<TicketAttachment> attachment = ticketAttachmentService.getAttachment(ticketId, attachmentId);
+        if (attachment.isEmpty()) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        TicketAttachment found = attachment.get();
+        fileDownloads.send(ticketAttachmentService.contentPath(found), found.getSize(), found.getSha256(),
+                found.getContentType(), found.getFilename(), request, response);
+    }
+
+    /**
+     * Deletes an attachment.
+     *
+     * @param ticketId     The ID of the ticket.
+     * @param attachmentId The ID of the attachment.
+     * @return ResponseEntity with HTTP status 200 (OK) if deleted successfully,
+     * or HTTP status 404 (Not Found) if the attachment does not exist.
+     */
+    @DeleteMapping("/{attachmentId}")
+    public ResponseEntity<Void> deleteAttachment(@PathVariable Long ticketId, @PathVariable Long attachmentId) {
+        try {
+            ticketAttachmentService.deleteAttachment(ticketId, attachmentId);
+            return ResponseEntity.ok().build();
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    // Drops any client-side directory from the name
+    private static String baseName(String filename) {
+        int slash = Math.max(filename.lastIndexOf('/'), filename.lastIndexOf('\\'));
+        return filename.substring(slash + 1).trim();
+    }
+}
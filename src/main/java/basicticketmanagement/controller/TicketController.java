@@ -1,7 +1,10 @@
 package basicticketmanagement.controller;
 
 import basicticketmanagement.dto.TicketCreationDTO;
+import basicticketmanagement.dto.TicketEventDTO;
+import basicticketmanagement.dto.TicketResponseDTO;
 import basicticketmanagement.model.Ticket;
+import basicticketmanagement.service.IdempotencyService;
 import basicticketmanagement.service.TicketService;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
@@ -22,33 +25,45 @@ import java.util.List;
 public class TicketController {
 
     private final TicketService ticketService; // Inject the service
+    private final IdempotencyService idempotencyService;
+
+    // Upper bound on tickets claimed by one request
+    private static final int MAX_CLAIM_COUNT = 100;
 
     /**
      * Creates a new Ticket using a TicketCreationDTO.
      * This endpoint expects a DTO containing the ticket description, the ID of the customer,
      * and an optional engineerId for immediate assignment.
+     * Retries carrying the same Idempotency-Key header get the original response back
+     * instead of creating a duplicate ticket; reusing a key with a different body is answered with 422.
      *
-     * @param ticketDto The TicketCreationDTO object containing description, customerId, and optional engineerId.
-     * @return ResponseEntity containing the created Ticket and HTTP status 201 (Created).
+     * @param ticketDto      The TicketCreationDTO object containing description, customerId, and optional engineerId.
+     * @param idempotencyKey Optional client supplied key identifying this creation request.
+     * @return ResponseEntity containing the created Ticket, without usernames, and HTTP status 201 (Created),
+     * or HTTP status 400 (Bad Request) if the customer or engineer does not exist.
      */
     @PostMapping
-    public ResponseEntity<Ticket> createTicket(@RequestBody TicketCreationDTO ticketDto) {
+    public ResponseEntity<TicketResponseDTO> createTicket(
+            @RequestBody TicketCreationDTO ticketDto,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
         // Validate input from DTO
         if (ticketDto.getCustomerId() == null || ticketDto.getDescription() == null || ticketDto.getDescription().trim().isEmpty()) {
             return ResponseEntity.badRequest().body(null); // Return 400 if essential data is missing
         }
-        try {
-            // Call the service method with customerId, description, and optional engineerId from the DTO
-            Ticket savedTicket = ticketService.createTicket(
-                    ticketDto.getCustomerId(),
-                    ticketDto.getDescription(),
-                    ticketDto.getEngineerId() // Pass the optional engineerId
-            );
-            return new ResponseEntity<>(savedTicket, HttpStatus.CREATED);
-        } catch (EntityNotFoundException e) {
-            // If customer or engineer not found, return 400 Bad Request
-            return ResponseEntity.badRequest().body(null);
-        }
+        return idempotencyService.execute("tickets", idempotencyKey, ticketDto, TicketResponseDTO.class, () -> {
+            try {
+                // Call the service method with customerId, description, and optional engineerId from the DTO
+                Ticket savedTicket = ticketService.createTicket(
+                        ticketDto.getCustomerId(),
+                        ticketDto.getDescription(),
+                        ticketDto.getEngineerId() // Pass the optional engineerId
+                );
+                return new ResponseEntity<>(TicketResponseDTO.lean(savedTicket), HttpStatus.CREATED);
+            } catch (EntityNotFoundException e) {
+                // If customer or engineer not found, return 400 Bad Request
+                return ResponseEntity.badRequest().body(null);
+            }
+        });
     }
 
     /**
@@ -57,8 +72,10 @@ public class TicketController {
      * @return ResponseEntity containing a list of all Tickets and HTTP status 200 (OK).
      */
     @GetMapping
-    public ResponseEntity<List<Ticket>> getAllTickets() {
-        List<Ticket> tickets = ticketService.getAllTickets();
+    public ResponseEntity<List<TicketResponseDTO>> getAllTickets() {
+        List<TicketResponseDTO> tickets = ticketService.getAllTickets().stream()
+                .map(TicketResponseDTO::from)
+                .toList();
         return ResponseEntity.ok(tickets);
     }
 
@@ -70,12 +87,29 @@ public class TicketController {
      * or HTTP status 404 (Not Found) if not found.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Ticket> getTicketById(@PathVariable Long id) {
+    public ResponseEntity<TicketResponseDTO> getTicketById(@PathVariable Long id) {
         return ticketService.getTicketById(id)
+                .map(TicketResponseDTO::from)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * Retrieves the status history of a Ticket, oldest transition first.
+     *
+     * @param id The ID of the ticket.
+     * @return ResponseEntity containing the list of transitions (HTTP 200 OK),
+     * or HTTP status 404 (Not Found) if the ticket does not exist.
+     */
+    @GetMapping("/{id}/history")
+    public ResponseEntity<List<TicketEventDTO>> getTicketHistory(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(ticketService.getTicketHistory(id));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
     /**
      * Updates an existing Ticket.
      *
@@ -85,10 +119,10 @@ public class TicketController {
      * or HTTP status 404 (Not Found) if the ticket does not exist.
      */
     @PutMapping("/{id}")
-    public ResponseEntity<Ticket> updateTicket(@PathVariable Long id, @RequestBody Ticket input) {
+    public ResponseEntity<TicketResponseDTO> updateTicket(@PathVariable Long id, @RequestBody Ticket input) {
         try {
             Ticket updatedTicket = ticketService.updateTicket(id, input);
-            return ResponseEntity.ok(updatedTicket);
+            return ResponseEntity.ok(TicketResponseDTO.from(updatedTicket));
         } catch (EntityNotFoundException e) {
             return ResponseEntity.notFound().build();
         }
@@ -113,6 +147,8 @@ public class TicketController {
 
     /**
      * Acknowledges a ticket by assigning an engineer.
+     * The response carries no usernames; a ticket acknowledged straight from CREATED
+     * only carries its id, status, engineer id and acknowledgement time.
      *
      * @param ticketId   The ID of the ticket to acknowledge.
      * @param engineerId The ID of the engineer acknowledging the ticket.
@@ -120,14 +156,39 @@ public class TicketController {
      * or HTTP status 404 (Not Found) if ticket or engineer does not exist.
      */
     @PutMapping("/{ticketId}/acknowledge/{engineerId}")
-    public ResponseEntity<Ticket> acknowledgeTicket(
+    public ResponseEntity<TicketResponseDTO> acknowledgeTicket(
             @PathVariable Long ticketId,
             @PathVariable Long engineerId) {
         try {
             Ticket acknowledgedTicket = ticketService.acknowledgeTicket(ticketId, engineerId);
-            return ResponseEntity.ok(acknowledgedTicket);
+            return ResponseEntity.ok(TicketResponseDTO.lean(acknowledgedTicket));
         } catch (EntityNotFoundException e) {
             return ResponseEntity.notFound().build();
         }
     }
+
+    /**
+     * Claims the oldest unacknowledged tickets for the authenticated engineer.
+     * Concurrent claimers never receive the same ticket.
+     *
+     * @param count The number of tickets to claim, 1 by default and at most 100.
+     * @return ResponseEntity containing the claimed Tickets, oldest first (HTTP 200 OK),
+     * HTTP status 204 (No Content) if no ticket is waiting,
+     * HTTP status 400 (Bad Request) if the count is out of range,
+     * or HTTP status 403 (Forbidden) if the authenticated user is not an engineer.
+     */
+    @PostMapping("/claim")
+    public ResponseEntity<List<TicketResponseDTO>> claimTickets(@RequestParam(defaultValue = "1") int count) {
+        if (count < 1 || count > MAX_CLAIM_COUNT) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            List<TicketResponseDTO> claimed = ticketService.claimTickets(count).stream()
+                    .map(TicketResponseDTO::from)
+                    .toList();
+            return claimed.isEmpty() ? ResponseEntity.noContent().build() : ResponseEntity.ok(claimed);
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+    }
 }
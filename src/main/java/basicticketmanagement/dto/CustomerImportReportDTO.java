@@ -0,0 +1,24 @@
+package basicticketmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) returned by the bulk customer import.
+ * Holds totals plus the per-row outcome, in input order.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerImportReportDTO {
+    private int total;
+    private int created;
+    private int rejected;
+    private long elapsedMillis;
+    private List<CustomerImportRowDTO> rows;
+}
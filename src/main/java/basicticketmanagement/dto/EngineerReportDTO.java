@@ -0,0 +1,20 @@
+package basicticketmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Data Transfer Object (DTO) with one engineer's activity over a report range.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class EngineerReportDTO {
+    private long engineerId;
+    private long acknowledged;
+    private long closed;
+    private Double closeRate; // closed / acknowledged, null when nothing was acknowledged
+}
@@ -0,0 +1,39 @@
+package basicticketmanagement.dto;
+
+import basicticketmanagement.model.TicketAttachment;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Data Transfer Object (DTO) for the metadata of a ticket attachment.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketAttachmentDTO {
+    private Long id;
+    private Long ticketId;
+    private String filename;
+    private String contentType;
+    private long size;
+    private String sha256;
+    private String uploadedBy;
+    private Instant createdAt;
+
+    public static TicketAttachmentDTO from(TicketAttachment attachment) {
+        return new TicketAttachmentDTO(
+                attachment.getId(),
+                attachment.getTicketId(),
+                attachment.getFilename(),
+                attachment.getContentType(),
+                attachment.getSize(),
+                attachment.getSha256(),
+                attachment.getUploadedBy(),
+                attachment.getCreatedAt());
+    }
+}
@@ -0,0 +1,28 @@
+package basicticketmanagement.dto;
+
+import basicticketmanagement.model.TicketEvent;
+import basicticketmanagement.model.TicketStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Data Transfer Object (DTO) for one entry of a ticket's status history.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketEventDTO {
+    private TicketStatus fromStatus;
+    private TicketStatus toStatus;
+    private String actor;
+    private Instant timestamp;
+
+    public static TicketEventDTO from(TicketEvent event) {
+        return new TicketEventDTO(event.getFromStatus(), event.getToStatus(), event.getActor(), event.getTimestamp());
+    }
+}
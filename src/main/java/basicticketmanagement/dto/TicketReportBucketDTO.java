@@ -0,0 +1,24 @@
+package basicticketmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Data Transfer Object (DTO) for one time bucket of a ticket activity report.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketReportBucketDTO {
+    private Instant bucketStart;
+    private long created;
+    private long acknowledged;
+    private long inProgress;
+    private long closed;
+    private Double meanTimeToAcknowledgeMillis; // Null when nothing was acknowledged in the bucket
+}
@@ -0,0 +1,30 @@
+package basicticketmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Data Transfer Object (DTO) summarising ticket activity over a time range.
+ * The range is widened to whole hours.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketReportSummaryDTO {
+    private Instant from;
+    private Instant to;
+    private long created;
+    private long acknowledged;
+    private long inProgress;
+    private long closed;
+    private Double meanTimeToAcknowledgeMillis;
+    private Map<String, Long> acknowledgeLatencyHistogram;
+    private List<EngineerReportDTO> engineers;
+}
@@ -0,0 +1,80 @@
+package basicticketmanagement.dto;
+
+import basicticketmanagement.model.Customer;
+import basicticketmanagement.model.Engineer;
+import basicticketmanagement.model.Ticket;
+import basicticketmanagement.model.TicketStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Data Transfer Object (DTO) returned by the ticket endpoints.
+ * Customer and engineer are flattened to their id and username, so the
+ * wire format never carries password hashes or roles of the linked users.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TicketResponseDTO {
+    private Long id;
+    private String description;
+    private TicketStatus status;
+    private Long createdById;
+    private String createdByUsername;
+    private Long acknowledgedById;
+    private String acknowledgedByUsername;
+    private Instant createdAt;
+    private Instant acknowledgedAt;
+
+    /**
+     * Maps a Ticket entity to its response representation.
+     *
+     * @param ticket The Ticket entity to map.
+     * @return The flattened TicketResponseDTO.
+     */
+    public static TicketResponseDTO from(Ticket ticket) {
+        Customer customer = ticket.getCreatedBy();
+        Engineer engineer = ticket.getAcknowledgedBy();
+        return new TicketResponseDTO(
+                ticket.getId(),
+                ticket.getDescription(),
+                ticket.getStatus(),
+                customer != null ? customer.getId() : null,
+                customer != null ? customer.getUsername() : null,
+                engineer != null ? engineer.getId() : null,
+                engineer != null ? engineer.getUsername() : null,
+                ticket.getCreatedAt(),
+                ticket.getAcknowledgedAt()
+        );
+    }
+
+    /**
+     * Maps a Ticket entity without touching its customer and engineer beyond their ids,
+     * so uninitialized references are not loaded just to fill in usernames.
+     *
+     * @param ticket The Ticket entity to map.
+     * @return The TicketResponseDTO without usernames.
+     */
+    public static TicketResponseDTO lean(Ticket ticket) {
+        Customer customer = ticket.getCreatedBy();
+        Engineer engineer = ticket.getAcknowledgedBy();
+        return new TicketResponseDTO(
+                ticket.getId(),
+                ticket.getDescription(),
+                ticket.getStatus(),
+                customer != null ? customer.getId() : null,
+                null,
+                engineer != null ? engineer.getId() : null,
+                null,
+                ticket.getCreatedAt(),
+                ticket.getAcknowledgedAt()
+        );
+    }
+}
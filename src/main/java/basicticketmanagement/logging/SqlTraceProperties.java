@@ -0,0 +1,28 @@
+package basicticketmanagement.logging;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * SQL tracing settings, bound from the {@code sql-trace.*} properties.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "sql-trace")
+public class SqlTraceProperties {
+
+    // The DataSource is only wrapped when enabled, so disabled tracing costs nothing
+    private boolean enabled = false;
+
+    // Fraction of statements logged, between 0 and 1
+    private double sampleRate = 0.01;
+
+    // Statements at least this slow are always logged
+    private Duration slowThreshold = Duration.ofMillis(200);
+
+    // Longer statements are truncated in the log
+    private int maxSqlLength = 500;
+}
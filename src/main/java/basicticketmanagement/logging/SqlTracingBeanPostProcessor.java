@@ -0,0 +1,35 @@
+package basicticketmanagement.logging;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application's DataSource in a {@link SqlTracingDataSource} when {@code sql-trace.enabled} is set.
+ * The settings are bound straight from the Environment because post-processors are created
+ * before regular beans such as configuration properties.
+ */
+@Component
+public class SqlTracingBeanPostProcessor implements BeanPostProcessor, EnvironmentAware {
+
+    private SqlTraceProperties properties = new SqlTraceProperties();
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.properties = Binder.get(environment)
+                .bind("sql-trace", SqlTraceProperties.class)
+                .orElseGet(SqlTraceProperties::new);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (properties.isEnabled() && bean instanceof DataSource dataSource && !(bean instanceof SqlTracingDataSource)) {
+            return new SqlTracingDataSource(dataSource, properties);
+        }
+        return bean;
+    }
+}
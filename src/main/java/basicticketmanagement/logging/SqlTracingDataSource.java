@@ -0,0 +1,215 @@
+package basicticketmanagement.logging;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * DataSource wrapper that traces a sample of the executed SQL statements.
+ * <p>
+ * Each traced statement becomes one logfmt line on the {@code sql.trace} logger with its duration,
+ * affected or fetched rows, batch size and (truncated) SQL text. Statements are sampled at
+ * {@code sql-trace.sample-rate}; statements slower than {@code sql-trace.slow-threshold} are always logged.
+ * For queries the duration covers execution only and the row count is taken when the result set is closed.
+ * Connections, statements and result sets are wrapped with JDK proxies; every other call passes straight through.
+ */
+public class SqlTracingDataSource extends DelegatingDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger("sql.trace");
+
+    private final double sampleRate;
+    private final long slowThresholdNanos;
+    private final int maxSqlLength;
+
+    public SqlTracingDataSource(DataSource target, SqlTraceProperties properties) {
+        super(target);
+        this.sampleRate = properties.getSampleRate();
+        this.slowThresholdNanos = properties.getSlowThreshold().toNanos();
+        this.maxSqlLength = properties.getMaxSqlLength();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(Connection.class, obtainTargetDataSource().getConnection(), new ConnectionHandler());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(Connection.class, obtainTargetDataSource().getConnection(username, password), new ConnectionHandler());
+    }
+
+    private void trace(String sql, long elapsedNanos, long rows, int batchSize) {
+        if (elapsedNanos < slowThresholdNanos && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        if (!log.isInfoEnabled()) {
+            return;
+        }
+        String statement = sql == null ? "" : sql.replaceAll("\\s+", " ").trim();
+        if (statement.length() > maxSqlLength) {
+            statement = statement.substring(0, maxSqlLength) + "...";
+        }
+        log.info("durationMs={} rows={} batch={} slow={} sql=\"{}\"",
+                String.format("%.3f", elapsedNanos / 1_000_000.0),
+                rows,
+                batchSize,
+                elapsedNanos >= slowThresholdNanos,
+                statement.replace("\"", "\\\""));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T wrap(Class<T> type, Object target, DelegatingHandler handler) {
+        handler.target = target;
+        return (T) Proxy.newProxyInstance(SqlTracingDataSource.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private abstract static class DelegatingHandler implements InvocationHandler {
+        Object target;
+
+        Object proceed(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    private final class ConnectionHandler extends DelegatingHandler {
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = proceed(method, args);
+            if (result instanceof Statement statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                // prepareStatement and prepareCall carry their SQL; createStatement gets it per execute call
+                String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                return wrap(method.getReturnType(), statement, new StatementHandler(sql));
+            }
+            return result;
+        }
+    }
+
+    private final class StatementHandler extends DelegatingHandler {
+        private String sql;
+        private int batchSize;
+        // Trace of a query waiting for its result set to be consumed
+        private ResultSetHandler openResult;
+
+        StatementHandler(String sql) {
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("addBatch")) {
+                batchSize++;
+                if (args != null && args.length > 0) {
+                    sql = (String) args[0];
+                }
+                return proceed(method, args);
+            }
+            if (name.equals("clearBatch")) {
+                batchSize = 0;
+                return proceed(method, args);
+            }
+            if (name.equals("close")) {
+                finishResult();
+                return proceed(method, args);
+            }
+            if (!name.startsWith("execute")) {
+                return proceed(method, args);
+            }
+
+            finishResult();
+            String executed = args != null && args.length > 0 && args[0] instanceof String s ? s : sql;
+            long start = System.nanoTime();
+            Object result = proceed(method, args);
+            long elapsed = System.nanoTime() - start;
+            int batch = batchSize;
+            batchSize = 0;
+
+            if (result instanceof ResultSet resultSet) {
+                openResult = new ResultSetHandler(this, executed, elapsed);
+                return wrap(ResultSet.class, resultSet, openResult);
+            }
+            trace(executed, elapsed, rows(result, (Statement) target), batch);
+            return result;
+        }
+
+        private void finishResult() {
+            if (openResult != null) {
+                openResult.finish();
+            }
+        }
+    }
+
+    private final class ResultSetHandler extends DelegatingHandler {
+        private final StatementHandler statement;
+        private final String sql;
+        private final long elapsedNanos;
+        private long rows;
+        private boolean finished;
+
+        ResultSetHandler(StatementHandler statement, String sql, long elapsedNanos) {
+            this.statement = statement;
+            this.sql = sql;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getName().equals("close")) {
+                finish();
+            }
+            Object result = proceed(method, args);
+            if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                rows++;
+            }
+            return result;
+        }
+
+        void finish() {
+            if (!finished) {
+                finished = true;
+                statement.openResult = null;
+                trace(sql, elapsedNanos, rows, 0);
+            }
+        }
+    }
+
+    private static long rows(Object result, Statement statement) throws SQLException {
+        if (result instanceof Number count) {
+            return count.longValue();
+        }
+        if (result instanceof int[] counts) {
+            long total = 0;
+            for (int count : counts) {
+                total += Math.max(count, 0);
+            }
+            return total;
+        }
+        if (result instanceof long[] counts) {
+            long total = 0;
+            for (long count : counts) {
+                total += Math.max(count, 0);
+            }
+            return total;
+        }
+        if (Boolean.FALSE.equals(result)) {
+            // execute() without a result set: the update count is available
+            return statement.getUpdateCount();
+        }
+        return -1;
+    }
+}
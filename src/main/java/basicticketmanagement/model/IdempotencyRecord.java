@@ -0,0 +1,52 @@
+package basicticketmanagement.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Claim on an Idempotency-Key and, once the request finished, its response.
+ * Only used when the database-backed idempotency store is enabled, so that
+ * retries landing on another node are coalesced and answered as well.
+ * The primary key is the SHA-256 of the scoped key, so its length does not depend on the client.
+ */
+@Entity
+@Table(name = "idempotency_keys", indexes = @Index(name = "idx_idempotency_created_at", columnList = "created_at"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyRecord {
+    @Id
+    @Column(name = "idempotency_key", length = 64)
+    private String key;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16, nullable = false)
+    private State state;
+
+    @Column(nullable = false)
+    private int statusCode;
+
+    @Lob
+    @Column(columnDefinition = "TEXT")
+    private String body;
+
+    // SHA-256 of the request body the key was first used with
+    @Column(name = "request_hash", length = 64, nullable = false)
+    private String requestHash;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    public enum State {
+        // Claimed by a node that is still running the request
+        PENDING,
+        // Response stored
+        COMPLETED
+    }
+}
@@ -0,0 +1,26 @@
+package basicticketmanagement.model;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Bucket size of a ticket rollup row. Buckets are aligned to UTC.
+ */
+public enum RollupGranularity {
+    HOUR(ChronoUnit.HOURS),
+    DAY(ChronoUnit.DAYS);
+
+    private final ChronoUnit unit;
+
+    RollupGranularity(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    public Instant bucketStart(Instant instant) {
+        return instant.truncatedTo(unit);
+    }
+
+    public Instant nextBucket(Instant bucketStart) {
+        return bucketStart.plus(1, unit);
+    }
+}
@@ -6,9 +6,11 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.time.Instant;
+
 
 @Entity
-@Table(name = "tickets")
+@Table(name = "tickets", indexes = @Index(name = "idx_tickets_status_created_at", columnList = "status, created_at"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -26,4 +28,16 @@ public class Ticket {
     @ManyToOne
     private Engineer acknowledgedBy;
 
+    @Column(name = "created_at")
+    private Instant createdAt;
+    @Column(name = "acknowledged_at")
+    private Instant acknowledgedAt;
+
+    // Status the ticket was in when it missed its SLA, cleared on the next status change
+    @Enumerated(EnumType.STRING)
+    @Column(name = "escalated_status")
+    private TicketStatus escalatedStatus;
+    @Column(name = "escalated_at")
+    private Instant escalatedAt;
+
 }
\ No newline at end of file
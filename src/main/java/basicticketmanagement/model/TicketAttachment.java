@@ -0,0 +1,50 @@
+package basicticketmanagement.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Metadata of a file attached to a ticket.
+ * The content itself lives in the content-addressed file store under its SHA-256,
+ * so attachments with identical content share one file.
+ */
+@Entity
+@Table(name = "ticket_attachments", indexes = {
+        @Index(name = "idx_ticket_attachments_ticket", columnList = "ticket_id"),
+        @Index(name = "idx_ticket_attachments_sha256", columnList = "sha256")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketAttachment {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "ticket_id", nullable = false)
+    private Long ticketId;
+
+    @Column(nullable = false)
+    private String filename;
+
+    @Column(name = "content_type", nullable = false)
+    private String contentType;
+
+    @Column(name = "size_bytes", nullable = false)
+    private long size;
+
+    @Column(nullable = false, length = 64)
+    private String sha256;
+
+    @Column(name = "uploaded_by", nullable = false)
+    private String uploadedBy;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
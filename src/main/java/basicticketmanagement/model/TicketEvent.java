@@ -0,0 +1,47 @@
+package basicticketmanagement.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Append-only record of one ticket status transition.
+ * Rows are never updated; the ticket id is stored as a plain column so history
+ * survives ticket deletion and inserts need no lookup of the ticket.
+ */
+@Entity
+@Table(name = "ticket_events", indexes = @Index(name = "idx_ticket_events_ticket_ts", columnList = "ticket_id, ts"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "ticket_id", nullable = false)
+    private Long ticketId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "from_status")
+    private TicketStatus fromStatus; // Null for the creation event
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "to_status", nullable = false)
+    private TicketStatus toStatus;
+
+    @Column(nullable = false)
+    private String actor;
+
+    // Engineer the ticket was assigned to after the transition, null if none; rollups are attributed to it
+    @Column(name = "engineer_id")
+    private Long engineerId;
+
+    @Column(name = "ts", nullable = false)
+    private Instant timestamp;
+}
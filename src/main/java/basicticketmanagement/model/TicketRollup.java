@@ -0,0 +1,66 @@
+package basicticketmanagement.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Pre-aggregated ticket activity for one time bucket and one engineer.
+ * Rows are maintained incrementally by TicketRollupService with upserts; reports
+ * read and merge these rows instead of scanning the tickets table.
+ * Engineer id 0 collects activity on tickets nobody has acknowledged.
+ */
+@Entity
+@Table(name = "ticket_rollups",
+        uniqueConstraints = @UniqueConstraint(name = "uk_ticket_rollups_bucket",
+                columnNames = {"granularity", "bucket_start", "engineer_id"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "granularity", nullable = false, length = 8)
+    private RollupGranularity granularity;
+
+    @Column(name = "bucket_start", nullable = false)
+    private Instant bucketStart;
+
+    @Column(name = "engineer_id", nullable = false)
+    private long engineerId;
+
+    @Column(name = "created_count", nullable = false)
+    private long createdCount;
+    @Column(name = "acknowledged_count", nullable = false)
+    private long acknowledgedCount;
+    @Column(name = "in_progress_count", nullable = false)
+    private long inProgressCount;
+    @Column(name = "closed_count", nullable = false)
+    private long closedCount;
+
+    // Acknowledgement latency: sum and count for the mean, plus a fixed-bucket histogram
+    @Column(name = "ack_latency_sum_ms", nullable = false)
+    private long ackLatencySumMillis;
+    @Column(name = "ack_latency_count", nullable = false)
+    private long ackLatencyCount;
+    @Column(name = "ack_le_5m", nullable = false)
+    private long ackWithin5m;
+    @Column(name = "ack_le_15m", nullable = false)
+    private long ackWithin15m;
+    @Column(name = "ack_le_1h", nullable = false)
+    private long ackWithin1h;
+    @Column(name = "ack_le_4h", nullable = false)
+    private long ackWithin4h;
+    @Column(name = "ack_le_24h", nullable = false)
+    private long ackWithin24h;
+    @Column(name = "ack_gt_24h", nullable = false)
+    private long ackOver24h;
+}
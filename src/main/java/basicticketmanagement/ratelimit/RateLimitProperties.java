@@ -0,0 +1,44 @@
+package basicticketmanagement.ratelimit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rate limit settings, bound from the {@code rate-limit.*} properties.
+ * Each group names a set of path patterns with its own bucket size and refill rate;
+ * the first group whose pattern matches a request applies.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // Upper bound on live buckets; beyond it new clients share one overflow bucket per group
+    private int maxBuckets = 100_000;
+
+    private Map<String, Group> groups = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class Group {
+        private List<String> paths = new ArrayList<>();
+        private int capacity = 20;
+        private double refillPerSecond = 10;
+        private KeyType key = KeyType.USER;
+    }
+
+    public enum KeyType {
+        // Authenticated username, falling back to the client IP for anonymous requests
+        USER,
+        // Client IP, used where no user is authenticated yet, e.g. /login
+        IP
+    }
+}
@@ -0,0 +1,70 @@
+package basicticketmanagement.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Holds one token bucket per (group, client) pair.
+ * Buckets are created on first use and evicted by a periodic sweep once they have fully refilled,
+ * so memory is proportional to the number of recently active clients.
+ * When the table is full, clients without a bucket share one overflow bucket per group until the
+ * sweep frees room: they stay limited, and the request thread never scans the table.
+ */
+@Slf4j
+@Component
+public class RateLimiter {
+
+    private final RateLimitProperties properties;
+    private final ConcurrentMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    // One shared bucket per group for clients that found the table full
+    private final ConcurrentMap<String, TokenBucket> overflowBuckets = new ConcurrentHashMap<>();
+    private final AtomicBoolean overflowing = new AtomicBoolean();
+
+    public RateLimiter(RateLimitProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Takes one token from the client's bucket in the given group.
+     *
+     * @param groupName The name of the matching rate limit group.
+     * @param group     The group settings.
+     * @param clientKey The username or IP identifying the client.
+     * @return 0 if the request may proceed, otherwise the nanoseconds until it may be retried.
+     */
+    public long tryAcquire(String groupName, RateLimitProperties.Group group, String clientKey) {
+        long now = System.nanoTime();
+        String key = groupName + ':' + clientKey;
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= properties.getMaxBuckets()) {
+                if (overflowing.compareAndSet(false, true)) {
+                    log.warn("Rate limit bucket table full ({} entries), new clients share one bucket per group", buckets.size());
+                }
+                return overflowBuckets.computeIfAbsent(groupName, k -> new TokenBucket(group.getCapacity(), group.getRefillPerSecond(), now))
+                        .tryAcquire(now);
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new TokenBucket(group.getCapacity(), group.getRefillPerSecond(), now));
+        }
+        return bucket.tryAcquire(now);
+    }
+
+    /**
+     * Drops buckets that have refilled completely. A new bucket starts full,
+     * so evicting an idle one never changes what a client is allowed to do.
+     */
+    @Scheduled(fixedDelayString = "${rate-limit.sweep-interval:60s}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.isIdle(now));
+        overflowBuckets.values().removeIf(bucket -> bucket.isIdle(now));
+        if (buckets.size() < properties.getMaxBuckets() && overflowing.compareAndSet(true, false)) {
+            log.info("Rate limit bucket table has room again ({} entries)", buckets.size());
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package basicticketmanagement.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket.
+ * Implemented as a generic cell rate algorithm: instead of a token count plus a refill timestamp,
+ * the whole state is one "theoretical arrival time" updated with a single CAS, so concurrent
+ * requests for the same user never block each other.
+ */
+final class TokenBucket {
+
+    private final AtomicLong theoreticalArrival;
+    private final long emissionIntervalNanos;
+    private final long burstNanos;
+
+    TokenBucket(int capacity, double refillPerSecond, long nowNanos) {
+        this.emissionIntervalNanos = Math.max(1L, (long) (1_000_000_000L / refillPerSecond));
+        this.burstNanos = emissionIntervalNanos * capacity;
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Takes one token.
+     *
+     * @param nowNanos The current {@link System#nanoTime()}.
+     * @return 0 if the token was granted, otherwise the nanoseconds until one becomes available.
+     */
+    long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, nowNanos) + emissionIntervalNanos;
+            long allowedAt = next - burstNanos;
+            if (allowedAt - nowNanos > 0) {
+                return allowedAt - nowNanos;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * A bucket is idle once it has refilled completely; dropping it then loses no state.
+     */
+    boolean isIdle(long nowNanos) {
+        return theoreticalArrival.get() - nowNanos <= 0;
+    }
+}
@@ -0,0 +1,53 @@
+package basicticketmanagement.repository;
+
+import basicticketmanagement.model.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    // Plain INSERT so that a concurrent claim of the same key fails on the primary key
+    // (DataIntegrityViolationException) instead of being merged into the existing row
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO idempotency_keys (idempotency_key, state, status_code, request_hash, created_at) " +
+            "VALUES (:key, 'PENDING', 0, :requestHash, :createdAt)", nativeQuery = true)
+    void claim(@Param("key") String key,
+               @Param("requestHash") String requestHash,
+               @Param("createdAt") Instant createdAt);
+
+    @Transactional
+    @Modifying
+    @Query("update IdempotencyRecord r set r.state = basicticketmanagement.model.IdempotencyRecord.State.COMPLETED, " +
+            "r.statusCode = :statusCode, r.body = :body where r.key = :key")
+    int complete(@Param("key") String key,
+                 @Param("statusCode") int statusCode,
+                 @Param("body") String body);
+
+    @Query("select r.state as state, r.statusCode as statusCode, r.body as body, " +
+            "r.requestHash as requestHash, r.createdAt as createdAt from IdempotencyRecord r where r.key = :key")
+    Optional<IdempotencyRecordView> findViewByKey(@Param("key") String key);
+
+    @Transactional
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.key = :key")
+    int release(@Param("key") String key);
+
+    @Transactional
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.key = :key and r.createdAt < :cutoff")
+    int deleteExpired(@Param("key") String key, @Param("cutoff") Instant cutoff);
+
+    @Transactional
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") Instant cutoff);
+}
@@ -0,0 +1,22 @@
+package basicticketmanagement.repository;
+
+import basicticketmanagement.model.IdempotencyRecord;
+
+import java.time.Instant;
+
+/**
+ * Read-only projection of an idempotency record.
+ * Being a projection rather than an entity, it is never served from the persistence
+ * context cache, so polling a pending claim always sees the current row.
+ */
+public interface IdempotencyRecordView {
+    IdempotencyRecord.State getState();
+
+    int getStatusCode();
+
+    String getBody();
+
+    String getRequestHash();
+
+    Instant getCreatedAt();
+}
@@ -0,0 +1,35 @@
+package basicticketmanagement.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Calendar;
+import java.util.TimeZone;
+
+/**
+ * Reads and writes {@link Instant} columns from plain JDBC code the same way Hibernate does
+ * ({@code hibernate.jdbc.time_zone=UTC}), so rows written by JdbcTemplate batches and by
+ * JPA entities agree regardless of the JVM's default time zone.
+ */
+public final class JdbcTimestamps {
+
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+    private JdbcTimestamps() {
+    }
+
+    public static void set(PreparedStatement ps, int index, Instant instant) throws SQLException {
+        if (instant == null) {
+            ps.setTimestamp(index, null);
+        } else {
+            ps.setTimestamp(index, Timestamp.from(instant), Calendar.getInstance(UTC));
+        }
+    }
+
+    public static Instant get(ResultSet rs, int index) throws SQLException {
+        Timestamp timestamp = rs.getTimestamp(index, Calendar.getInstance(UTC));
+        return timestamp != null ? timestamp.toInstant() : null;
+    }
+}
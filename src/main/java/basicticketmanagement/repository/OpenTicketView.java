@@ -0,0 +1,18 @@
+package basicticketmanagement.repository;
+
+import basicticketmanagement.model.TicketStatus;
+
+import java.time.Instant;
+
+/**
+ * Projection with just the columns needed to rebuild pending SLA deadlines.
+ */
+public interface OpenTicketView {
+    Long getId();
+
+    TicketStatus getStatus();
+
+    Instant getCreatedAt();
+
+    Instant getAcknowledgedAt();
+}
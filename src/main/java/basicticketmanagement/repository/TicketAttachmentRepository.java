@@ -0,0 +1,19 @@
+package basicticketmanagement.repository;
+
+import basicticketmanagement.model.TicketAttachment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TicketAttachmentRepository extends JpaRepository<TicketAttachment, Long> {
+
+    List<TicketAttachment> findByTicketIdOrderByIdAsc(Long ticketId);
+
+    Optional<TicketAttachment> findByIdAndTicketId(Long id, Long ticketId);
+
+    // Whether any attachment still references stored content
+    boolean existsBySha256(String sha256);
+}
@@ -0,0 +1,12 @@
+package basicticketmanagement.repository;
+
+import basicticketmanagement.model.TicketEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TicketEventRepository extends JpaRepository<TicketEvent, Long> {
+    List<TicketEvent> findByTicketIdOrderByTimestampAscIdAsc(Long ticketId); // Served by the (ticket_id, ts) index
+}
@@ -1,9 +1,78 @@
 package basicticketmanagement.repository;
 
+import basicticketmanagement.model.Engineer;
 import basicticketmanagement.model.Ticket;
+import basicticketmanagement.model.TicketStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 
 @Repository
 public interface TicketRepository extends JpaRepository<Ticket, Long> {
+
+    // Fetch customer and engineer in the same query instead of one extra SELECT per ticket
+    @Override
+    @EntityGraph(attributePaths = {"createdBy", "acknowledgedBy"})
+    List<Ticket> findAll();
+
+    // Keyset page over idx_tickets_status_created_at: tickets in a status created after (createdAt, id)
+    // that have not already been escalated in that status
+    @Query("select t.id as id, t.status as status, t.createdAt as createdAt, t.acknowledgedAt as acknowledgedAt " +
+            "from Ticket t where t.status = :status " +
+            "and (t.escalatedStatus is null or t.escalatedStatus <> t.status) " +
+            "and (t.createdAt > :afterCreatedAt or (t.createdAt = :afterCreatedAt and t.id > :afterId)) " +
+            "order by t.createdAt, t.id")
+    List<OpenTicketView> findOpenPage(@Param("status") TicketStatus status,
+                                      @Param("afterCreatedAt") Instant afterCreatedAt,
+                                      @Param("afterId") Long afterId,
+                                      Pageable page);
+
+    // Locks the oldest unclaimed tickets in queue order (idx_tickets_status_created_at), skipping rows
+    // another claimer already holds so concurrent claimers never wait on each other. Needs a transaction.
+    @Query(value = "SELECT id FROM tickets WHERE status = 'CREATED' ORDER BY created_at, id LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<Long> lockNextCreated(@Param("limit") int limit);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update Ticket t set t.status = :status, t.acknowledgedBy = :engineer, t.acknowledgedAt = :acknowledgedAt, " +
+            "t.escalatedStatus = null, t.escalatedAt = null " +
+            "where t.id in :ids")
+    int assign(@Param("ids") Collection<Long> ids,
+               @Param("engineer") Engineer engineer,
+               @Param("status") TicketStatus status,
+               @Param("acknowledgedAt") Instant acknowledgedAt);
+
+    @EntityGraph(attributePaths = {"createdBy", "acknowledgedBy"})
+    List<Ticket> findByIdInOrderByCreatedAtAscIdAsc(Collection<Long> ids);
+
+    // Acknowledges a ticket in one UPDATE, without loading it, provided it is still in the expected status.
+    // Returns 0 if the ticket is missing or in another status; a missing engineer fails the foreign key.
+    @Transactional
+    @Modifying
+    @Query("update Ticket t set t.status = :status, t.acknowledgedBy = :engineer, t.acknowledgedAt = :acknowledgedAt, " +
+            "t.escalatedStatus = null, t.escalatedAt = null " +
+            "where t.id = :id and t.status = :expected")
+    int acknowledgeIfStatus(@Param("id") Long id,
+                            @Param("expected") TicketStatus expected,
+                            @Param("engineer") Engineer engineer,
+                            @Param("status") TicketStatus status,
+                            @Param("acknowledgedAt") Instant acknowledgedAt);
+
+    // Records that the tickets missed their SLA in the given status, skipping any that have moved on since
+    @Transactional
+    @Modifying
+    @Query("update Ticket t set t.escalatedStatus = :status, t.escalatedAt = :escalatedAt " +
+            "where t.id in :ids and t.status = :status")
+    int markEscalated(@Param("ids") Collection<Long> ids,
+                      @Param("status") TicketStatus status,
+                      @Param("escalatedAt") Instant escalatedAt);
 }
@@ -0,0 +1,36 @@
+package basicticketmanagement.repository;
+
+import basicticketmanagement.model.RollupGranularity;
+import basicticketmanagement.model.TicketRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface TicketRollupRepository extends JpaRepository<TicketRollup, Long> {
+
+    // Range scans on the (granularity, bucket_start, engineer_id) unique index
+    @Query("select r from TicketRollup r where r.granularity = :granularity " +
+            "and r.bucketStart >= :from and r.bucketStart < :to order by r.bucketStart")
+    List<TicketRollup> findRange(@Param("granularity") RollupGranularity granularity,
+                                 @Param("from") Instant from,
+                                 @Param("to") Instant to);
+
+    @Query("select r from TicketRollup r where r.granularity = :granularity " +
+            "and r.bucketStart >= :from and r.bucketStart < :to and r.engineerId = :engineerId order by r.bucketStart")
+    List<TicketRollup> findRangeForEngineer(@Param("granularity") RollupGranularity granularity,
+                                            @Param("from") Instant from,
+                                            @Param("to") Instant to,
+                                            @Param("engineerId") long engineerId);
+
+    @Transactional
+    @Modifying
+    @Query("delete from TicketRollup r where r.bucketStart >= :from and r.bucketStart < :to")
+    int deleteRange(@Param("from") Instant from, @Param("to") Instant to);
+}
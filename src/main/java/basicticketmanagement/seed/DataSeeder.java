@@ -0,0 +1,282 @@
+package basicticketmanagement.seed;
+
+import basicticketmanagement.model.TicketStatus;
+import basicticketmanagement.model.UserRole;
+import basicticketmanagement.repository.JdbcTimestamps;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates a synthetic dataset of customers, engineers and tickets for scale and load testing.
+ * Enabled with the {@code seed} profile, sized by the {@code seed.*} properties.
+ * <p>
+ * The data is deterministic: every chunk of rows draws from its own random generator derived from
+ * {@code seed.random-seed} and the chunk index, so the result does not depend on thread scheduling.
+ * Chunks are generated on a thread pool and written with JDBC batch inserts; all users share one
+ * password hashed once up front, since BCrypt would otherwise dominate the run time.
+ * <p>
+ * An empty database is seeded; a complete dataset is left alone. Anything in between, such as the
+ * remains of an interrupted run or a dataset generated with other {@code seed.*} sizes, fails startup
+ * rather than being accepted as the requested dataset.
+ */
+@Slf4j
+@Component
+@Profile("seed")
+@Order(0)
+public class DataSeeder implements CommandLineRunner {
+
+    private static final String CUSTOMER_PREFIX = "seed_customer_";
+    private static final String ENGINEER_PREFIX = "seed_engineer_";
+
+    private static final String INSERT_TICKET_SQL =
+            "INSERT INTO tickets (description, status, created_by_id, acknowledged_by_id, created_at, acknowledged_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String[] COMPONENTS = {
+            "Login page", "Password reset", "Invoice PDF", "Dashboard", "Mobile app", "Email notifications",
+            "Search", "File upload", "Billing", "Reports export", "API integration", "User profile"
+    };
+    private static final double[] COMPONENT_WEIGHTS = {18, 12, 9, 9, 8, 8, 7, 7, 6, 6, 5, 5};
+    private static final String[] SYMPTOMS = {
+            "returns an error", "is very slow", "shows wrong data", "does not load", "times out",
+            "crashes after the latest update", "is missing information", "sends duplicates"
+    };
+    private static final double[] SYMPTOM_WEIGHTS = {25, 20, 15, 12, 10, 8, 6, 4};
+    private static final String[] CONTEXTS = {
+            "", " since this morning", " for some users", " on Firefox", " after logging in again",
+            " when using a VPN", " for the whole team"
+    };
+
+    // Status mix for old tickets and for tickets created in the last two days
+    private static final TicketStatus[] STATUSES = {
+            TicketStatus.CREATED, TicketStatus.ACKNOWLEDGED, TicketStatus.IN_PROGRESS, TicketStatus.CLOSED
+    };
+    private static final double[] OLD_STATUS_WEIGHTS = {3, 4, 8, 85};
+    private static final double[] RECENT_STATUS_WEIGHTS = {35, 25, 25, 15};
+
+    private final SeedProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+
+    public DataSeeder(SeedProperties properties, JdbcTemplate jdbcTemplate, PasswordEncoder passwordEncoder) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        long customers = countUsers("customers", CUSTOMER_PREFIX);
+        long engineers = countUsers("engineers", ENGINEER_PREFIX);
+        long tickets = countTickets();
+        if (customers == 0 && engineers == 0 && tickets == 0) {
+            seed();
+            return;
+        }
+        // Load tests add tickets for seeded customers, so more tickets than seeded are expected
+        if (customers == properties.getCustomers() && engineers == properties.getEngineers()
+                && tickets >= properties.getTickets()) {
+            log.info("Seed data already present ({} customers, {} engineers, {} tickets), skipping",
+                    customers, engineers, tickets);
+            return;
+        }
+        throw new IllegalStateException(String.format(
+                "Found %d seeded customers, %d engineers and %d tickets but expected %d, %d and %d: the data is " +
+                "from an interrupted run or other seed settings. Remove the seeded data and start again",
+                customers, engineers, tickets,
+                properties.getCustomers(), properties.getEngineers(), properties.getTickets()));
+    }
+
+    private long countUsers(String table, String prefix) {
+        Long count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM " + table + " WHERE username LIKE ?", Long.class, prefix + "%");
+        return count != null ? count : 0;
+    }
+
+    private long countTickets() {
+        Long count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM tickets t JOIN customers c ON c.id = t.created_by_id WHERE c.username LIKE ?",
+                Long.class, CUSTOMER_PREFIX + "%");
+        return count != null ? count : 0;
+    }
+
+    private void seed() throws InterruptedException, ExecutionException {
+        int threads = properties.getThreads() > 0 ? properties.getThreads() : Runtime.getRuntime().availableProcessors();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            long start = System.nanoTime();
+            String passwordHash = passwordEncoder.encode(properties.getPassword());
+
+            insertUsers(executor, "customers", CUSTOMER_PREFIX, properties.getCustomers(), UserRole.CUSTOMER, passwordHash);
+            insertUsers(executor, "engineers", ENGINEER_PREFIX, properties.getEngineers(), UserRole.ENGINEER, passwordHash);
+            long[] customerIds = loadIds("customers", CUSTOMER_PREFIX);
+            long[] engineerIds = loadIds("engineers", ENGINEER_PREFIX);
+            log.info("Seeded {} customers and {} engineers", customerIds.length, engineerIds.length);
+
+            insertTickets(executor, customerIds, engineerIds);
+            log.info("Seeding finished in {} s", (System.nanoTime() - start) / 1_000_000_000);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void insertUsers(ExecutorService executor, String table, String prefix, int count,
+                             UserRole role, String passwordHash) throws InterruptedException, ExecutionException {
+        String sql = "INSERT INTO " + table + " (username, password, role) VALUES (?, ?, ?)";
+        int batchSize = properties.getBatchSize();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int from = 0; from < count; from += batchSize) {
+            int first = from;
+            int size = Math.min(batchSize, count - from);
+            futures.add(executor.submit(() -> jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    ps.setString(1, String.format("%s%07d", prefix, first + i));
+                    ps.setString(2, passwordHash);
+                    ps.setString(3, role.name());
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return size;
+                }
+            })));
+        }
+        awaitAll(futures);
+    }
+
+    // Indexed by the number in the username, not by id: chunks are inserted in parallel, so ids are
+    // handed out in a different order on every run. The numbers are zero-padded, so text order is numeric order.
+    private long[] loadIds(String table, String prefix) {
+        return jdbcTemplate.queryForList("SELECT id FROM " + table + " WHERE username LIKE ? ORDER BY username", Long.class, prefix + "%")
+                .stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+    }
+
+    private void insertTickets(ExecutorService executor, long[] customerIds, long[] engineerIds)
+            throws InterruptedException, ExecutionException {
+        if (customerIds.length == 0 || engineerIds.length == 0) {
+            throw new IllegalStateException("Tickets need at least one seeded customer and engineer");
+        }
+        Instant end = properties.getEndTime() != null
+                ? properties.getEndTime()
+                : Instant.now().truncatedTo(ChronoUnit.DAYS);
+        long spanSeconds = properties.getDays() * 86_400L;
+        long total = properties.getTickets();
+        int batchSize = properties.getBatchSize();
+        AtomicLong written = new AtomicLong();
+        long progressStep = Math.max(batchSize, total / 10);
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (long chunk = 0; chunk * batchSize < total; chunk++) {
+            long chunkIndex = chunk;
+            int size = (int) Math.min(batchSize, total - chunk * batchSize);
+            futures.add(executor.submit(() -> {
+                SplittableRandom random = new SplittableRandom(properties.getRandomSeed() * 0x9E3779B97F4A7C15L + chunkIndex);
+                GeneratedTicket[] rows = new GeneratedTicket[size];
+                for (int i = 0; i < size; i++) {
+                    rows[i] = generateTicket(random, customerIds, engineerIds, end, spanSeconds);
+                }
+                jdbcTemplate.batchUpdate(INSERT_TICKET_SQL, new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        GeneratedTicket row = rows[i];
+                        ps.setString(1, row.description());
+                        ps.setString(2, row.status().name());
+                        ps.setLong(3, row.customerId());
+                        if (row.engineerId() > 0) {
+                            ps.setLong(4, row.engineerId());
+                        } else {
+                            ps.setNull(4, Types.BIGINT);
+                        }
+                        JdbcTimestamps.set(ps, 5, row.createdAt());
+                        JdbcTimestamps.set(ps, 6, row.acknowledgedAt());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return size;
+                    }
+                });
+                long done = written.addAndGet(size);
+                if (done / progressStep != (done - size) / progressStep) {
+                    log.info("Seeded {} / {} tickets", done, total);
+                }
+            }));
+        }
+        awaitAll(futures);
+    }
+
+    private static GeneratedTicket generateTicket(SplittableRandom random, long[] customerIds, long[] engineerIds,
+                                                  Instant end, long spanSeconds) {
+        // Skew creation times towards the recent past, as real ticket volume grows over time
+        long ageSeconds = (long) (spanSeconds * Math.pow(random.nextDouble(), 1.5));
+        Instant createdAt = end.minusSeconds(ageSeconds).minusMillis(random.nextInt(1000));
+        boolean recent = ageSeconds < 2 * 86_400L;
+        TicketStatus status = STATUSES[pick(random, recent ? RECENT_STATUS_WEIGHTS : OLD_STATUS_WEIGHTS)];
+
+        String description = COMPONENTS[pick(random, COMPONENT_WEIGHTS)] + " "
+                + SYMPTOMS[pick(random, SYMPTOM_WEIGHTS)]
+                + CONTEXTS[random.nextInt(CONTEXTS.length)];
+        long customerId = customerIds[random.nextInt(customerIds.length)];
+
+        long engineerId = 0;
+        Instant acknowledgedAt = null;
+        if (status != TicketStatus.CREATED) {
+            engineerId = engineerIds[random.nextInt(engineerIds.length)];
+            // Exponentially distributed time to acknowledge, mean two hours
+            long latencyMillis = (long) (-Math.log(1 - random.nextDouble()) * 2 * 3_600_000L);
+            acknowledgedAt = createdAt.plusMillis(latencyMillis);
+            if (acknowledgedAt.isAfter(end)) {
+                acknowledgedAt = end;
+            }
+        }
+        return new GeneratedTicket(description, status, customerId, engineerId, createdAt, acknowledgedAt);
+    }
+
+    private static int pick(SplittableRandom random, double[] weights) {
+        double total = 0;
+        for (double weight : weights) {
+            total += weight;
+        }
+        double r = random.nextDouble() * total;
+        for (int i = 0; i < weights.length - 1; i++) {
+            r -= weights[i];
+            if (r < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    private static void awaitAll(List<Future<?>> futures) throws InterruptedException, ExecutionException {
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+
+    private record GeneratedTicket(String description, TicketStatus status, long customerId, long engineerId,
+                                   Instant createdAt, Instant acknowledgedAt) {
+    }
+}
@@ -0,0 +1,44 @@
+package basicticketmanagement.seed;
+
+import basicticketmanagement.model.Engineer;
+import basicticketmanagement.model.UserRole;
+import basicticketmanagement.repository.EngineerRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+/**
+ * CommandLineRunner to create a default engineer on application startup if one doesn't exist.
+ * This provides an "inbuilt" engineer account for initial setup and testing.
+ * <p>
+ * A component rather than a bean method on the application class, so test slices such as
+ * {@code @DataJpaTest} that do not scan components (and have no PasswordEncoder) leave it out.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DefaultEngineerRunner implements CommandLineRunner {
+
+    private static final String DEFAULT_ENGINEER_USERNAME = "default_engineer";
+    private static final String DEFAULT_ENGINEER_PASSWORD = "password"; // This will be encoded
+
+    private final EngineerRepository engineerRepository;
+    private final PasswordEncoder passwordEncoder;
+
+    @Override
+    public void run(String... args) {
+        // Check if the default engineer already exists
+        if (engineerRepository.findByUsername(DEFAULT_ENGINEER_USERNAME).isEmpty()) {
+            Engineer defaultEngineer = new Engineer();
+            defaultEngineer.setUsername(DEFAULT_ENGINEER_USERNAME);
+            defaultEngineer.setPassword(passwordEncoder.encode(DEFAULT_ENGINEER_PASSWORD)); // Encode the password
+            defaultEngineer.setRole(UserRole.ENGINEER); // Set the role
+            engineerRepository.save(defaultEngineer);
+            log.info("Default engineer '{}' created successfully!", DEFAULT_ENGINEER_USERNAME);
+        } else {
+            log.info("Default engineer '{}' already exists.", DEFAULT_ENGINEER_USERNAME);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package basicticketmanagement.seed;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stops the application once {@link DataSeeder} has put the dataset in place, for runs that only
+ * prepare a database, e.g. before a load test. It needs both the {@code seed} and the dedicated
+ * {@code seed-exit} profile, so a server started for normal use is never shut down by it.
+ */
+@Slf4j
+@Component
+@Profile("seed & seed-exit")
+@Order(Ordered.LOWEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class SeedExitRunner implements CommandLineRunner {
+
+    private final ApplicationContext applicationContext;
+
+    @Override
+    public void run(String... args) {
+        log.info("Seed data in place, stopping (seed-exit profile)");
+        System.exit(SpringApplication.exit(applicationContext, () -> 0));
+    }
+}
@@ -0,0 +1,38 @@
+package basicticketmanagement.seed;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Instant;
+
+/**
+ * Synthetic dataset settings, bound from the {@code seed.*} properties.
+ * Only used when the {@code seed} profile is active.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "seed")
+public class SeedProperties {
+
+    private int customers = 10_000;
+    private int engineers = 100;
+    private long tickets = 1_000_000;
+
+    // Same seed and end time always produce the same dataset
+    private long randomSeed = 42;
+
+    // Tickets are spread over this many days before the end time
+    private int days = 365;
+
+    // Defaults to the start of the current UTC day
+    private Instant endTime;
+
+    // 0 means one thread per core
+    private int threads = 0;
+
+    private int batchSize = 5_000;
+
+    // Password shared by all generated users, hashed once
+    private String password = "password";
+}
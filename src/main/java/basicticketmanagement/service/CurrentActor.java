@@ -0,0 +1,25 @@
+package basicticketmanagement.service;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Resolves who the current thread acts for, as recorded in the ticket history, on attachments
+ * and in idempotency keys.
+ */
+final class CurrentActor {
+
+    // Recorded for work that runs outside a request, e.g. scheduled jobs
+    static final String SYSTEM = "system";
+
+    private CurrentActor() {
+    }
+
+    /**
+     * @return The name of the authenticated user, or "system" when there is none.
+     */
+    static String name() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : SYSTEM;
+    }
+}
@@ -0,0 +1,259 @@
+package basicticketmanagement.service;
+
+import basicticketmanagement.dto.CustomerImportReportDTO;
+import basicticketmanagement.dto.CustomerImportRowDTO;
+import basicticketmanagement.dto.CustomerRegistrationDTO;
+import basicticketmanagement.model.UserRole;
+import basicticketmanagement.repository.CustomerRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Service for registering many customers in one request.
+ * The input is read line by line and processed in chunks: each chunk is checked for taken
+ * usernames with a single query, its passwords are hashed in parallel on a dedicated
+ * fork-join pool, and the rows are written with JDBC batch inserts.
+ */
+@Service
+public class CustomerImportService {
+
+    private static final String INSERT_SQL = "INSERT INTO customers (username, password, role) VALUES (?, ?, ?)";
+
+    private final CustomerRepository customerRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ForkJoinPool hashingPool;
+    private final int chunkSize;
+
+    public CustomerImportService(CustomerRepository customerRepository,
+                                 PasswordEncoder passwordEncoder,
+                                 JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 ObjectMapper objectMapper,
+                                 @Value("${customer-import.hashing-threads:0}") int hashingThreads,
+                                 @Value("${customer-import.chunk-size:1000}") int chunkSize) {
+        this.customerRepository = customerRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.hashingPool = new ForkJoinPool(hashingThreads > 0 ? hashingThreads : Runtime.getRuntime().availableProcessors());
+        this.chunkSize = chunkSize;
+    }
+
+    public enum Format {
+        CSV,
+        NDJSON
+    }
+
+    /**
+     * Imports customers from a CSV ("username,password", optional header) or NDJSON
+     * ({"username":..., "password":...} per line) stream.
+     *
+     * @param input  The request body.
+     * @param format The format of the body.
+     * @return A report with the outcome of every row.
+     * @throws IOException if the body cannot be read.
+     */
+    public CustomerImportReportDTO importCustomers(InputStream input, Format format) throws IOException {
+        long start = System.nanoTime();
+        List<CustomerImportRowDTO> results = new ArrayList<>();
+        Set<String> seenUsernames = new HashSet<>();
+        List<Row> chunk = new ArrayList<>(chunkSize);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            String line;
+            long lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || (lineNumber == 1 && format == Format.CSV && isCsvHeader(line))) {
+                    continue;
+                }
+                chunk.add(parse(lineNumber, line, format));
+                if (chunk.size() == chunkSize) {
+                    processChunk(chunk, seenUsernames, results);
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            processChunk(chunk, seenUsernames, results);
+        }
+
+        int created = (int) results.stream().filter(r -> r.getStatus() == CustomerImportRowDTO.Status.CREATED).count();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        return new CustomerImportReportDTO(results.size(), created, results.size() - created, elapsedMillis, results);
+    }
+
+    private void processChunk(List<Row> chunk, Set<String> seenUsernames, List<CustomerImportRowDTO> results) {
+        // Usernames already registered, found with one query for the whole chunk
+        List<String> candidates = chunk.stream()
+                .filter(row -> row.error == null)
+                .map(row -> row.username)
+                .toList();
+        Set<String> existing = candidates.isEmpty()
+                ? Set.of()
+                : new HashSet<>(customerRepository.findExistingUsernames(candidates));
+
+        List<Row> accepted = new ArrayList<>(chunk.size());
+        for (Row row : chunk) {
+            if (row.error != null) {
+                row.status = CustomerImportRowDTO.Status.INVALID;
+            } else if (existing.contains(row.username) || !seenUsernames.add(row.username)) {
+                row.status = CustomerImportRowDTO.Status.DUPLICATE;
+                row.error = "Username already exists";
+            } else {
+                accepted.add(row);
+            }
+        }
+
+        hashPasswords(accepted);
+        insert(accepted);
+
+        for (Row row : chunk) {
+            results.add(new CustomerImportRowDTO(row.line, row.username, row.status, row.error));
+        }
+    }
+
+    private void hashPasswords(List<Row> rows) {
+        List<Callable<Void>> tasks = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            tasks.add(() -> {
+                row.passwordHash = passwordEncoder.encode(row.password);
+                row.password = null;
+                return null;
+            });
+        }
+        try {
+            for (Future<Void> future : hashingPool.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing passwords", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private void insert(List<Row> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        try {
+            // One transaction per chunk, so a failed batch leaves nothing half inserted
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), (ps, row) -> {
+                        ps.setString(1, row.username);
+                        ps.setString(2, row.passwordHash);
+                        ps.setString(3, UserRole.CUSTOMER.name());
+                    }));
+            rows.forEach(row -> row.status = CustomerImportRowDTO.Status.CREATED);
+        } catch (DataIntegrityViolationException e) {
+            // A username was registered concurrently; retry row by row to pinpoint it
+            for (Row row : rows) {
+                try {
+                    jdbcTemplate.update(INSERT_SQL, row.username, row.passwordHash, UserRole.CUSTOMER.name());
+                    row.status = CustomerImportRowDTO.Status.CREATED;
+                } catch (DataIntegrityViolationException rowError) {
+                    row.status = CustomerImportRowDTO.Status.DUPLICATE;
+                    row.error = "Username already exists";
+                } catch (DataAccessException rowError) {
+                    row.status = CustomerImportRowDTO.Status.FAILED;
+                    row.error = rowError.getMostSpecificCause().getMessage();
+                }
+            }
+        }
+    }
+
+    private Row parse(long lineNumber, String line, Format format) {
+        String username;
+        String password;
+        if (format == Format.NDJSON) {
+            try {
+                CustomerRegistrationDTO dto = objectMapper.readValue(line, CustomerRegistrationDTO.class);
+                username = dto.getUsername();
+                password = dto.getPassword();
+            } catch (JsonProcessingException e) {
+                return Row.invalid(lineNumber, null, "Malformed JSON");
+            }
+        } else {
+            String[] fields = line.split(",", 2);
+            if (fields.length < 2) {
+                return Row.invalid(lineNumber, unquote(fields[0]), "Expected username,password");
+            }
+            username = unquote(fields[0]);
+            password = unquote(fields[1]);
+        }
+        if (username == null || username.isBlank()) {
+            return Row.invalid(lineNumber, username, "Username is required");
+        }
+        if (password == null || password.isEmpty()) {
+            return Row.invalid(lineNumber, username, "Password is required");
+        }
+        return new Row(lineNumber, username.trim(), password);
+    }
+
+    private static boolean isCsvHeader(String line) {
+        return line.replace("\"", "").trim().toLowerCase().startsWith("username,");
+    }
+
+    private static String unquote(String value) {
+        String trimmed = value.trim();
+        if (trimmed.length() >= 2 && trimmed.startsWith("\"") && trimmed.endsWith("\"")) {
+            return trimmed.substring(1, trimmed.length() - 1).replace("\"\"", "\"");
+        }
+        return trimmed;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hashingPool.shutdown();
+    }
+
+    private static final class Row {
+        private final long line;
+        private final String username;
+        private String password;
+        private String passwordHash;
+        private CustomerImportRowDTO.Status status;
+        private String error;
+
+        private Row(long line, String username, String password) {
+            this.line = line;
+            this.username = username;
+            this.password = password;
+        }
+
+        private static Row invalid(long line, String username, String error) {
+            Row row = new Row(line, username, null);
+            row.error = error;
+            return row;
+        }
+    }
+}
@@ -0,0 +1,356 @@
+package basicticketmanagement.service;
+
+import basicticketmanagement.model.IdempotencyRecord;
+import basicticketmanagement.repository.IdempotencyRecordRepository;
+import basicticketmanagement.repository.IdempotencyRecordView;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Service that makes create endpoints safe to retry.
+ * The first request with a given Idempotency-Key runs the action; repeats within the TTL
+ * get the original response back, and concurrent repeats wait for the first one to finish
+ * instead of running the action again.
+ * <p>
+ * Keys live in a bounded in-memory store split into segments (each an insertion-ordered map
+ * guarded by its own lock), so memory stays capped and contention stays low. A full segment evicts
+ * its oldest finished keys; a key whose request is still running is never evicted, so its retries
+ * keep waiting for it instead of running the action again. They wait at most
+ * {@code idempotency.pending-wait} and then get 409.
+ * A key reused with a different request body is answered with 422 instead of the old response.
+ * <p>
+ * When {@code idempotency.persistent=true} a node claims the key in the database, by inserting a
+ * PENDING row, before running the action, and stores the response in that row afterwards.
+ * A node that loses the insert waits up to {@code idempotency.pending-wait} for the response
+ * and answers 409 if it is still pending, so concurrent retries on different nodes run the action once.
+ */
+@Slf4j
+@Service
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    // Longer keys are rejected with 400
+    public static final int MAX_KEY_LENGTH = 255;
+
+    private static final int SEGMENTS = 16;
+    private static final long POLL_INTERVAL_MILLIS = 50;
+
+    private final IdempotencyRecordRepository recordRepository;
+    private final ObjectMapper objectMapper;
+    private final long ttlNanos;
+    private final Duration ttl;
+    private final boolean persistent;
+    private final Duration pendingWait;
+    private final Map<String, Entry>[] segments;
+
+    @SuppressWarnings("unchecked")
+    public IdempotencyService(IdempotencyRecordRepository recordRepository,
+                              ObjectMapper objectMapper,
+                              @Value("${idempotency.ttl:24h}") Duration ttl,
+                              @Value("${idempotency.max-entries:100000}") int maxEntries,
+                              @Value("${idempotency.persistent:false}") boolean persistent,
+                              @Value("${idempotency.pending-wait:5s}") Duration pendingWait) {
+        this.recordRepository = recordRepository;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.ttlNanos = ttl.toNanos();
+        this.persistent = persistent;
+        this.pendingWait = pendingWait;
+        int maxPerSegment = Math.max(1, maxEntries / SEGMENTS);
+        this.segments = new Map[SEGMENTS];
+        for (int i = 0; i < SEGMENTS; i++) {
+            this.segments[i] = new LinkedHashMap<>(16, 0.75f, false) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                    if (size() > maxPerSegment) {
+                        evictFinished(this, size() - maxPerSegment);
+                    }
+                    // Never let the map drop the eldest itself: its request may still be running
+                    return false;
+                }
+            };
+        }
+    }
+
+    /**
+     * Runs the action at most once per idempotency key.
+     *
+     * @param scope          The endpoint the key belongs to, e.g. "tickets".
+     * @param idempotencyKey The client supplied key, or null to run the action unconditionally.
+     * @param request        The request body, compared with the body the key was first used with.
+     * @param bodyType       The response body type, used to read back persisted responses.
+     * @param action         The action producing the response.
+     * @return The response of the first request made with this key; HTTP status 400 (Bad Request) if the key
+     * is too long, 422 (Unprocessable Entity) if the key was used with a different body, or 409 (Conflict)
+     * if the first request is still running after {@code idempotency.pending-wait}.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> ResponseEntity<T> execute(String scope, String idempotencyKey, Object request, Class<T> bodyType,
+                                         Supplier<ResponseEntity<T>> action) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return action.get();
+        }
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            return ResponseEntity.badRequest().build();
+        }
+        String key = scope + ":" + CurrentActor.name() + ":" + idempotencyKey;
+        String requestHash = requestHash(request);
+        Map<String, Entry> segment = segmentFor(key);
+
+        Entry entry;
+        boolean leader = false;
+        synchronized (segment) {
+            long now = System.nanoTime();
+            entry = segment.get(key);
+            if (entry == null || entry.isExpired(now)) {
+                // Remove first so the renewed key moves to the tail of the insertion order
+                segment.remove(key);
+                entry = new Entry(now + ttlNanos, requestHash);
+                segment.put(key, entry);
+                leader = true;
+            }
+        }
+
+        if (!leader) {
+            if (!entry.requestHash.equals(requestHash)) {
+                return ResponseEntity.unprocessableEntity().build();
+            }
+            ResponseEntity<?> original = await(entry);
+            return original == null
+                    ? ResponseEntity.status(HttpStatus.CONFLICT).build()
+                    : (ResponseEntity<T>) replay(original);
+        }
+
+        try {
+            ResponseEntity<T> response = persistent
+                    ? executePersistent(storageKey(key), requestHash, bodyType, action)
+                    : action.get();
+            entry.response.complete(response);
+            if (!isCacheable(response)) {
+                remove(segment, key, entry);
+            }
+            return response;
+        } catch (RuntimeException e) {
+            remove(segment, key, entry);
+            entry.response.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Drops expired keys. Segments are insertion ordered and share one TTL,
+     * so each sweep stops at the first entry that is still alive.
+     */
+    @Scheduled(fixedDelayString = "${idempotency.sweep-interval:60s}")
+    public void evictExpired() {
+        long now = System.nanoTime();
+        for (Map<String, Entry> segment : segments) {
+            synchronized (segment) {
+                Iterator<Entry> it = segment.values().iterator();
+                while (it.hasNext() && it.next().isExpired(now)) {
+                    it.remove();
+                }
+            }
+        }
+        if (persistent) {
+            recordRepository.deleteCreatedBefore(Instant.now().minus(ttl));
+        }
+    }
+
+    private Map<String, Entry> segmentFor(String key) {
+        int h = key.hashCode();
+        return segments[(h ^ (h >>> 16)) & (SEGMENTS - 1)];
+    }
+
+    private static void remove(Map<String, Entry> segment, String key, Entry entry) {
+        synchronized (segment) {
+            segment.remove(key, entry);
+        }
+    }
+
+    /**
+     * Removes up to {@code count} of the oldest entries whose request has finished. Entries still
+     * running are skipped, so a segment may briefly hold more than its share while they complete.
+     */
+    private static void evictFinished(Map<String, Entry> segment, int count) {
+        Iterator<Entry> it = segment.values().iterator();
+        while (count > 0 && it.hasNext()) {
+            if (it.next().response.isDone()) {
+                it.remove();
+                count--;
+            }
+        }
+    }
+
+    // Returns null if the first request is still running after pending-wait
+    private ResponseEntity<?> await(Entry entry) {
+        try {
+            return entry.response.get(pendingWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static ResponseEntity<?> replay(ResponseEntity<?> original) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(original.getHeaders());
+        headers.set(REPLAYED_HEADER, "true");
+        return new ResponseEntity<>(original.getBody(), headers, original.getStatusCode());
+    }
+
+    // Server errors and conflicts are not remembered, so the client can retry them
+    private static boolean isCacheable(ResponseEntity<?> response) {
+        return !response.getStatusCode().is5xxServerError() && response.getStatusCode().value() != HttpStatus.CONFLICT.value();
+    }
+
+    /**
+     * Runs the action once across nodes: the node that inserts the PENDING row runs it, the others
+     * wait for its response. A claim released by a failed request or left over past the TTL is taken over.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> ResponseEntity<T> executePersistent(String key, String requestHash, Class<T> bodyType,
+                                                    Supplier<ResponseEntity<T>> action) {
+        long deadline = System.nanoTime() + pendingWait.toNanos();
+        while (true) {
+            if (claim(key, requestHash)) {
+                return runClaimed(key, action);
+            }
+            Optional<IdempotencyRecordView> existing = recordRepository.findViewByKey(key);
+            if (existing.isPresent()) {
+                IdempotencyRecordView record = existing.get();
+                Instant cutoff = Instant.now().minus(ttl);
+                if (record.getCreatedAt().isBefore(cutoff)) {
+                    recordRepository.deleteExpired(key, cutoff);
+                    continue;
+                }
+                if (!record.getRequestHash().equals(requestHash)) {
+                    return ResponseEntity.unprocessableEntity().build();
+                }
+                if (record.getState() != IdempotencyRecord.State.PENDING) {
+                    return (ResponseEntity<T>) replay(read(key, record, bodyType));
+                }
+            }
+            // Still pending on another node, or released just now: try again until the deadline
+            if (System.nanoTime() - deadline > 0) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).build();
+            }
+            try {
+                Thread.sleep(POLL_INTERVAL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return ResponseEntity.status(HttpStatus.CONFLICT).build();
+            }
+        }
+    }
+
+    private boolean claim(String key, String requestHash) {
+        try {
+            recordRepository.claim(key, requestHash, Instant.now());
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+
+    private <T> ResponseEntity<T> runClaimed(String key, Supplier<ResponseEntity<T>> action) {
+        ResponseEntity<T> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            recordRepository.release(key);
+            throw e;
+        }
+        if (!isCacheable(response)) {
+            recordRepository.release(key);
+            return response;
+        }
+        try {
+            String body = response.getBody() == null ? null : objectMapper.writeValueAsString(response.getBody());
+            recordRepository.complete(key, response.getStatusCode().value(), body);
+        } catch (JsonProcessingException | DataAccessException e) {
+            // The action already ran; answer it and let other nodes time out on the pending claim
+            log.error("Could not store idempotent response for key {}", key, e);
+        }
+        return response;
+    }
+
+    private <T> ResponseEntity<T> read(String key, IdempotencyRecordView record, Class<T> bodyType) {
+        try {
+            T body = record.getBody() == null ? null : objectMapper.readValue(record.getBody(), bodyType);
+            return ResponseEntity.status(record.getStatusCode()).body(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable idempotent response for key " + key, e);
+        }
+    }
+
+    private String requestHash(Object request) {
+        try {
+            return sha256(request == null ? new byte[0] : objectMapper.writeValueAsBytes(request));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not hash idempotent request", e);
+        }
+    }
+
+    // Fixed-length primary key whatever the length of the scope, username and client key
+    private static String storageKey(String key) {
+        return sha256(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class Entry {
+        private final CompletableFuture<ResponseEntity<?>> response = new CompletableFuture<>();
+        private final long expiresAtNanos;
+        private final String requestHash;
+
+        private Entry(long expiresAtNanos, String requestHash) {
+            this.expiresAtNanos = expiresAtNanos;
+            this.requestHash = requestHash;
+        }
+
+        private boolean isExpired(long now) {
+            return now - expiresAtNanos > 0;
+        }
+    }
+}
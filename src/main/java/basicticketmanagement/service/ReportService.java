@@ -0,0 +1,127 @@
+package basicticketmanagement.service;
+
+import basicticketmanagement.dto.EngineerReportDTO;
+import basicticketmanagement.dto.TicketReportBucketDTO;
+import basicticketmanagement.dto.TicketReportSummaryDTO;
+import basicticketmanagement.model.RollupGranularity;
+import basicticketmanagement.model.TicketRollup;
+import basicticketmanagement.repository.TicketRollupRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Service answering ticket activity reports from the pre-aggregated rollups.
+ * A range is read as daily buckets for the whole days it covers and hourly buckets for
+ * the partial days at either end, so the number of rows read depends on the length of the
+ * range, not on how many tickets exist. Counts lag live activity by the rollup flush interval.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReportService {
+
+    private final TicketRollupRepository rollupRepo;
+
+    /**
+     * Summarises ticket activity over a range.
+     *
+     * @param from       Start of the range; rounded down to the hour.
+     * @param to         End of the range (exclusive); rounded up to the hour.
+     * @param engineerId Optional engineer to restrict the report to.
+     * @return The merged totals, latency statistics and per-engineer close rates.
+     */
+    public TicketReportSummaryDTO summary(Instant from, Instant to, Long engineerId) {
+        Instant start = from.truncatedTo(ChronoUnit.HOURS);
+        Instant end = ceil(to, ChronoUnit.HOURS);
+
+        List<TicketRollup> rows = new ArrayList<>();
+        Instant firstDay = ceil(start, ChronoUnit.DAYS);
+        Instant lastDay = end.truncatedTo(ChronoUnit.DAYS);
+        if (firstDay.isBefore(lastDay)) {
+            rows.addAll(find(RollupGranularity.HOUR, start, firstDay, engineerId));
+            rows.addAll(find(RollupGranularity.DAY, firstDay, lastDay, engineerId));
+            rows.addAll(find(RollupGranularity.HOUR, lastDay, end, engineerId));
+        } else {
+            rows.addAll(find(RollupGranularity.HOUR, start, end, engineerId));
+        }
+
+        long[] totals = new long[RollupCounters.WIDTH];
+        Map<Long, long[]> perEngineer = new TreeMap<>();
+        for (TicketRollup row : rows) {
+            long[] counters = RollupCounters.of(row);
+            RollupCounters.add(totals, counters);
+            if (row.getEngineerId() != 0) {
+                RollupCounters.add(perEngineer.computeIfAbsent(row.getEngineerId(), k -> new long[RollupCounters.WIDTH]), counters);
+            }
+        }
+
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        for (int i = 0; i < RollupCounters.ACK_HISTOGRAM_LABELS.length; i++) {
+            histogram.put(RollupCounters.ACK_HISTOGRAM_LABELS[i], totals[RollupCounters.ACK_HISTOGRAM + i]);
+        }
+        List<EngineerReportDTO> engineers = new ArrayList<>(perEngineer.size());
+        perEngineer.forEach((id, counters) -> engineers.add(new EngineerReportDTO(
+                id,
+                counters[RollupCounters.ACKNOWLEDGED],
+                counters[RollupCounters.CLOSED],
+                counters[RollupCounters.ACKNOWLEDGED] == 0 ? null
+                        : (double) counters[RollupCounters.CLOSED] / counters[RollupCounters.ACKNOWLEDGED])));
+
+        return new TicketReportSummaryDTO(
+                start,
+                end,
+                totals[RollupCounters.CREATED],
+                totals[RollupCounters.ACKNOWLEDGED],
+                totals[RollupCounters.IN_PROGRESS],
+                totals[RollupCounters.CLOSED],
+                RollupCounters.meanAckLatency(totals),
+                histogram,
+                engineers);
+    }
+
+    /**
+     * Returns ticket activity per hour or per day over a range.
+     *
+     * @param from        Start of the range; rounded down to the bucket size.
+     * @param to          End of the range (exclusive).
+     * @param granularity The bucket size.
+     * @param engineerId  Optional engineer to restrict the series to.
+     * @return One entry per bucket with activity, in time order.
+     */
+    public List<TicketReportBucketDTO> series(Instant from, Instant to, RollupGranularity granularity, Long engineerId) {
+        Map<Instant, long[]> buckets = new TreeMap<>();
+        for (TicketRollup row : find(granularity, granularity.bucketStart(from), to, engineerId)) {
+            RollupCounters.add(buckets.computeIfAbsent(row.getBucketStart(), k -> new long[RollupCounters.WIDTH]), RollupCounters.of(row));
+        }
+        List<TicketReportBucketDTO> series = new ArrayList<>(buckets.size());
+        buckets.forEach((bucketStart, counters) -> series.add(new TicketReportBucketDTO(
+                bucketStart,
+                counters[RollupCounters.CREATED],
+                counters[RollupCounters.ACKNOWLEDGED],
+                counters[RollupCounters.IN_PROGRESS],
+                counters[RollupCounters.CLOSED],
+                RollupCounters.meanAckLatency(counters))));
+        return series;
+    }
+
+    private List<TicketRollup> find(RollupGranularity granularity, Instant from, Instant to, Long engineerId) {
+        if (!from.isBefore(to)) {
+            return List.of();
+        }
+        return engineerId == null
+                ? rollupRepo.findRange(granularity, from, to)
+                : rollupRepo.findRangeForEngineer(granularity, from, to, engineerId);
+    }
+
+    private static Instant ceil(Instant instant, ChronoUnit unit) {
+        Instant floor = instant.truncatedTo(unit);
+        return floor.equals(instant) ? instant : floor.plus(1, unit);
+    }
+}
@@ -0,0 +1,103 @@
+package basicticketmanagement.service;
+
+import basicticketmanagement.model.TicketRollup;
+import basicticketmanagement.model.TicketStatus;
+
+/**
+ * Layout of the counters kept per rollup bucket, shared by the rollup writer and the report reader.
+ * A bucket is a plain {@code long[]} so that merging buckets is a loop of additions.
+ */
+final class RollupCounters {
+
+    static final int CREATED = 0;
+    static final int ACKNOWLEDGED = 1;
+    static final int IN_PROGRESS = 2;
+    static final int CLOSED = 3;
+    static final int ACK_LATENCY_SUM = 4;
+    static final int ACK_LATENCY_COUNT = 5;
+    static final int ACK_HISTOGRAM = 6;
+
+    // Upper bounds of the acknowledgement latency histogram buckets; the last bucket is open ended
+    static final long[] ACK_HISTOGRAM_BOUNDS_MILLIS = {5 * 60_000L, 15 * 60_000L, 3_600_000L, 4 * 3_600_000L, 24 * 3_600_000L};
+    static final String[] ACK_HISTOGRAM_LABELS = {"<=5m", "<=15m", "<=1h", "<=4h", "<=24h", ">24h"};
+
+    static final int WIDTH = ACK_HISTOGRAM + ACK_HISTOGRAM_LABELS.length;
+
+    private RollupCounters() {
+    }
+
+    /**
+     * Counts one status transition.
+     *
+     * @param counters          The bucket to update.
+     * @param from              The previous status, or null for a newly created ticket.
+     * @param to                The new status.
+     * @param ackLatencyMillis  Time from creation to acknowledgement, or a negative value if unknown.
+     */
+    static void count(long[] counters, TicketStatus from, TicketStatus to, long ackLatencyMillis) {
+        if (from == null) {
+            counters[CREATED]++;
+        }
+        switch (to) {
+            case ACKNOWLEDGED -> {
+                counters[ACKNOWLEDGED]++;
+                if (ackLatencyMillis >= 0) {
+                    countAckLatency(counters, ackLatencyMillis);
+                }
+            }
+            case IN_PROGRESS -> counters[IN_PROGRESS]++;
+            case CLOSED -> counters[CLOSED]++;
+            default -> {
+                // Entering CREATED only counts as creation, handled above
+            }
+        }
+    }
+
+    /**
+     * Counts the latency of an acknowledgement whose transition was already counted without it.
+     *
+     * @param counters         The bucket to update.
+     * @param ackLatencyMillis Time from creation to acknowledgement.
+     */
+    static void countAckLatency(long[] counters, long ackLatencyMillis) {
+        counters[ACK_LATENCY_SUM] += ackLatencyMillis;
+        counters[ACK_LATENCY_COUNT]++;
+        counters[ACK_HISTOGRAM + histogramBucket(ackLatencyMillis)]++;
+    }
+
+    static void add(long[] target, long[] source) {
+        for (int i = 0; i < WIDTH; i++) {
+            target[i] += source[i];
+        }
+    }
+
+    static long[] of(TicketRollup rollup) {
+        return new long[]{
+                rollup.getCreatedCount(),
+                rollup.getAcknowledgedCount(),
+                rollup.getInProgressCount(),
+                rollup.getClosedCount(),
+                rollup.getAckLatencySumMillis(),
+                rollup.getAckLatencyCount(),
+                rollup.getAckWithin5m(),
+                rollup.getAckWithin15m(),
+                rollup.getAckWithin1h(),
+                rollup.getAckWithin4h(),
+                rollup.getAckWithin24h(),
+                rollup.getAckOver24h()
+        };
+    }
+
+    static Double meanAckLatency(long[] counters) {
+        return counters[ACK_LATENCY_COUNT] == 0 ? null : (double) counters[ACK_LATENCY_SUM] / counters[ACK_LATENCY_COUNT];
+    }
+
+    private static int histogramBucket(long latencyMillis) {
+        for (int i = 0; i < ACK_HISTOGRAM_BOUNDS_MILLIS.length; i++) {
+            if (latencyMillis <= ACK_HISTOGRAM_BOUNDS_MILLIS[i]) {
+                return i;
+            }
+        }
+        return ACK_HISTOGRAM_BOUNDS_MILLIS.length;
+    }
+}
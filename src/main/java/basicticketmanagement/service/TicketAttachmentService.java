@@ -0,0 +1,233 @@
+package basicticketmanagement.service;
+
+import basicticketmanagement.attachment.AttachmentProperties;
+import basicticketmanagement.attachment.AttachmentTooLargeException;
+import basicticketmanagement.attachment.ContentStore;
+import basicticketmanagement.attachment.StoredContent;
+import basicticketmanagement.model.TicketAttachment;
+import basicticketmanagement.repository.TicketAttachmentRepository;
+import basicticketmanagement.repository.TicketRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service class for managing ticket attachments.
+ * Only metadata is kept in the database; contents are streamed to the {@link ContentStore}
+ * and shared between attachments with the same SHA-256. A stored file is deleted once the
+ * last attachment referencing it is gone.
+ */
+@Slf4j
+@Service
+public class TicketAttachmentService {
+
+    // Serialises committing and releasing the same content, striped by hash
+    private static final int LOCK_STRIPES = 64;
+
+    private final TicketAttachmentRepository attachmentRepo;
+    private final TicketRepository ticketRepo;
+    private final ContentStore contentStore;
+    private final long maxSize;
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    private final Timer uploadTimer;
+    private final DistributionSummary uploadSize;
+    private final DistributionSummary uploadThroughput;
+    private final Counter deduplicated;
+    private final Counter rejected;
+
+    public TicketAttachmentService(TicketAttachmentRepository attachmentRepo,
+                                   TicketRepository ticketRepo,
+                                   ContentStore contentStore,
+                                   AttachmentProperties properties,
+                                   MeterRegistry meterRegistry) {
+        this.attachmentRepo = attachmentRepo;
+        this.ticketRepo = ticketRepo;
+        this.contentStore = contentStore;
+        this.maxSize = properties.getMaxSize().toBytes();
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+        this.uploadTimer = Timer.builder("attachments.upload")
+                .description("Time to receive and store an attachment")
+                .register(meterRegistry);
+        this.uploadSize = DistributionSummary.builder("attachments.upload.size")
+                .baseUnit(BaseUnits.BYTES)
+                .register(meterRegistry);
+        this.uploadThroughput = DistributionSummary.builder("attachments.upload.throughput")
+                .description("Upload throughput per attachment")
+                .baseUnit("bytes.per.second")
+                .register(meterRegistry);
+        this.deduplicated = Counter.builder("attachments.upload.deduplicated")
+                .description("Uploads whose content was already stored")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("attachments.upload.rejected")
+                .description("Uploads over the size limit")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Stores an attachment for a ticket, streaming the content to disk.
+     *
+     * @param ticketId    The ID of the ticket.
+     * @param filename    The original file name.
+     * @param contentType The content type declared by the client.
+     * @param content     The content; read to the end.
+     * @return The saved attachment metadata.
+     * @throws EntityNotFoundException     if the ticket is not found.
+     * @throws AttachmentTooLargeException if the content exceeds {@code attachments.max-size}.
+     */
+    public TicketAttachment upload(Long ticketId, String filename, String contentType, InputStream content) {
+        if (!ticketRepo.existsById(ticketId)) {
+            throw new EntityNotFoundException("Ticket not found with id " + ticketId);
+        }
+        long start = System.nanoTime();
+        StoredContent stored;
+        try {
+            stored = contentStore.write(content, maxSize);
+        } catch (AttachmentTooLargeException e) {
+            rejected.increment();
+            throw e;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        TicketAttachment attachment = new TicketAttachment();
+        attachment.setTicketId(ticketId);
+        attachment.setFilename(filename);
+        attachment.setContentType(contentType);
+        attachment.setSize(stored.size());
+        attachment.setSha256(stored.sha256());
+        attachment.setUploadedBy(CurrentActor.name());
+        attachment.setCreatedAt(Instant.now());
+
+        TicketAttachment saved;
+        synchronized (lockFor(stored.sha256())) {
+            boolean created;
+            try {
+                created = contentStore.commit(stored);
+            } catch (IOException e) {
+                contentStore.discard(stored);
+                throw new UncheckedIOException(e);
+            }
+            try {
+                saved = attachmentRepo.save(attachment);
+            } catch (RuntimeException e) {
+                if (created) {
+                    deleteContent(stored.sha256());
+                }
+                throw e;
+            }
+            if (!created) {
+                deduplicated.increment();
+            }
+        }
+
+        long elapsed = System.nanoTime() - start;
+        uploadTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        uploadSize.record(stored.size());
+        if (elapsed > 0) {
+            uploadThroughput.record(stored.size() * 1e9 / elapsed);
+        }
+        return saved;
+    }
+
+    /**
+     * Retrieves the attachments of a ticket, oldest first.
+     *
+     * @param ticketId The ID of the ticket.
+     * @return The list of attachment metadata.
+     * @throws EntityNotFoundException if the ticket is not found.
+     */
+    public List<TicketAttachment> getAttachments(Long ticketId) {
+        if (!ticketRepo.existsById(ticketId)) {
+            throw new EntityNotFoundException("Ticket not found with id " + ticketId);
+        }
+        return attachmentRepo.findByTicketIdOrderByIdAsc(ticketId);
+    }
+
+    /**
+     * Retrieves one attachment of a ticket.
+     *
+     * @param ticketId     The ID of the ticket.
+     * @param attachmentId The ID of the attachment.
+     * @return An Optional containing the attachment if found, or empty if not.
+     */
+    public Optional<TicketAttachment> getAttachment(Long ticketId, Long attachmentId) {
+        return attachmentRepo.findByIdAndTicketId(attachmentId, ticketId);
+    }
+
+    /**
+     * Resolves the stored file holding an attachment's content.
+     */
+    public Path contentPath(TicketAttachment attachment) {
+        return contentStore.path(attachment.getSha256());
+    }
+
+    /**
+     * Deletes one attachment of a ticket.
+     *
+     * @param ticketId     The ID of the ticket.
+     * @param attachmentId The ID of the attachment.
+     * @throws EntityNotFoundException if the attachment is not found on this ticket.
+     */
+    public void deleteAttachment(Long ticketId, Long attachmentId) {
+        TicketAttachment attachment = attachmentRepo.findByIdAndTicketId(attachmentId, ticketId)
+                .orElseThrow(() -> new EntityNotFoundException("Attachment not found with id " + attachmentId));
+        attachmentRepo.delete(attachment);
+        release(attachment.getSha256());
+    }
+
+    /**
+     * Deletes all attachments of a ticket, e.g. when the ticket itself is deleted.
+     *
+     * @param ticketId The ID of the ticket.
+     */
+    public void deleteAttachments(Long ticketId) {
+        List<TicketAttachment> attachments = attachmentRepo.findByTicketIdOrderByIdAsc(ticketId);
+        if (attachments.isEmpty()) {
+            return;
+        }
+        attachmentRepo.deleteAllInBatch(attachments);
+        attachments.stream()
+                .map(TicketAttachment::getSha256)
+                .distinct()
+                .forEach(this::release);
+    }
+
+    // Deletes stored content that no attachment references any more
+    private void release(String sha256) {
+        synchronized (lockFor(sha256)) {
+            if (!attachmentRepo.existsBySha256(sha256)) {
+                deleteContent(sha256);
+            }
+        }
+    }
+
+    private void deleteContent(String sha256) {
+        try {
+            contentStore.delete(sha256);
+        } catch (IOException e) {
+            // Harmless: an orphaned file is only wasted space and is reused by an identical upload
+            log.warn("Failed to delete attachment content {}", sha256, e);
+        }
+    }
+
+    private Object lockFor(String sha256) {
+        return locks[Math.floorMod(sha256.hashCode(), LOCK_STRIPES)];
+    }
+}
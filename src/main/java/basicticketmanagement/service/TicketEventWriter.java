@@ -0,0 +1,198 @@
+package basicticketmanagement.service;
+
+import basicticketmanagement.model.TicketEvent;
+import basicticketmanagement.model.TicketStatus;
+import basicticketmanagement.repository.JdbcTimestamps;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asynchronous writer for the ticket status history.
+ * Request threads only enqueue events; a single background thread drains the bounded queue
+ * and inserts them with JDBC batches. If the queue is full the event is written on the calling
+ * thread instead, so history is never dropped. Each batch is written in one transaction; a batch
+ * that fails is retried row by row, so a row the database rejects is logged and skipped without
+ * losing its neighbours, and rows that fail for other reasons (e.g. the database is down) are kept
+ * and retried with exponential backoff. On shutdown the queue is drained completely before the
+ * data source goes away.
+ */
+@Slf4j
+@Component
+public class TicketEventWriter {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO ticket_events (ticket_id, from_status, to_status, actor, engineer_id, ts) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<TicketEvent> queue;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    // Events taken from the queue but not written yet; only touched by the worker until it has stopped
+    private final List<TicketEvent> pending = new ArrayList<>();
+
+    public TicketEventWriter(JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${ticket-history.queue-capacity:10000}") int queueCapacity,
+                             @Value("${ticket-history.batch-size:500}") int batchSize,
+                             @Value("${ticket-history.flush-interval-ms:200}") long flushIntervalMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.worker = new Thread(this::drainLoop, "ticket-history-writer");
+        this.worker.setDaemon(true);
+    }
+
+    @PostConstruct
+    void start() {
+        worker.start();
+    }
+
+    /**
+     * Records a status transition.
+     *
+     * @param ticketId   The ID of the ticket that changed.
+     * @param from       The previous status, or null when the ticket was just created.
+     * @param to         The new status.
+     * @param actor      The username that caused the transition.
+     * @param engineerId The engineer assigned after the transition, or null if none.
+     * @throws IllegalArgumentException if the ticket, new status or actor is missing.
+     */
+    public void record(Long ticketId, TicketStatus from, TicketStatus to, String actor, Long engineerId) {
+        if (ticketId == null || to == null || actor == null) {
+            throw new IllegalArgumentException("Incomplete ticket history event: ticket " + ticketId + ", to " + to + ", actor " + actor);
+        }
+        TicketEvent event = new TicketEvent(null, ticketId, from, to, actor, engineerId, Instant.now());
+        if (!running || !queue.offer(event)) {
+            // Back-pressure instead of loss when the writer cannot keep up
+            write(List.of(event));
+        }
+    }
+
+    private void drainLoop() {
+        long backoffMillis = 0;
+        while (running) {
+            try {
+                if (backoffMillis > 0) {
+                    Thread.sleep(backoffMillis);
+                }
+                if (pending.isEmpty()) {
+                    TicketEvent first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    pending.add(first);
+                    queue.drainTo(pending, batchSize - 1);
+                }
+                writeIsolating(pending);
+                backoffMillis = 0;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                backoffMillis = Math.min(MAX_BACKOFF_MILLIS, Math.max(100, backoffMillis * 2));
+                log.warn("Failed to write {} ticket history events, retrying in {} ms", pending.size(), backoffMillis, e);
+            }
+        }
+    }
+
+    /**
+     * Writes the events and removes them from the list. If the batch fails, the events are written one
+     * by one: rows the database rejects are logged and removed, any other failure is rethrown with the
+     * unwritten events still in the list.
+     */
+    private void writeIsolating(List<TicketEvent> events) {
+        try {
+            write(events);
+            events.clear();
+            return;
+        } catch (DataAccessException e) {
+            log.warn("Batch of {} ticket history events failed, writing them one by one", events.size(), e);
+        }
+        while (!events.isEmpty()) {
+            TicketEvent event = events.get(0);
+            try {
+                write(List.of(event));
+            } catch (DataIntegrityViolationException e) {
+                log.error("Dropping ticket history event the database rejects: ticket {} {} -> {} by {} at {}",
+                        event.getTicketId(), event.getFromStatus(), event.getToStatus(), event.getActor(), event.getTimestamp(), e);
+            }
+            events.remove(0);
+        }
+    }
+
+    // One transaction per batch, so a failed batch leaves no partial rows behind to be duplicated by the retry
+    private void write(List<TicketEvent> events) {
+        transactionTemplate.executeWithoutResult(status -> insert(events));
+    }
+
+    private void insert(List<TicketEvent> events) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, events, events.size(), (ps, event) -> {
+            ps.setLong(1, event.getTicketId());
+            ps.setString(2, event.getFromStatus() != null ? event.getFromStatus().name() : null);
+            ps.setString(3, event.getToStatus().name());
+            ps.setString(4, event.getActor());
+            if (event.getEngineerId() != null) {
+                ps.setLong(5, event.getEngineerId());
+            } else {
+                ps.setNull(5, Types.BIGINT);
+            }
+            JdbcTimestamps.set(ps, 6, event.getTimestamp());
+        });
+    }
+
+    /**
+     * Stops the background thread and writes whatever is still queued. The batch the thread was
+     * writing is only taken over once the thread has exited; if it is still busy after ten seconds,
+     * that batch is left to it.
+     */
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        running = false;
+        worker.interrupt();
+        worker.join(TimeUnit.SECONDS.toMillis(10));
+        List<TicketEvent> remaining = new ArrayList<>();
+        if (worker.isAlive()) {
+            log.warn("Ticket history writer is still writing a batch after 10 s, leaving that batch to it");
+        } else {
+            remaining.addAll(pending);
+        }
+        queue.drainTo(remaining);
+        int total = remaining.size();
+        try {
+            while (!remaining.isEmpty()) {
+                List<TicketEvent> batch = remaining.subList(0, Math.min(remaining.size(), batchSize));
+                writeIsolating(batch);
+            }
+        } catch (RuntimeException e) {
+            log.error("Lost {} ticket history events on shutdown", remaining.size(), e);
+            return;
+        }
+        if (total > 0) {
+            log.info("Flushed {} queued ticket history events on shutdown", total);
+        }
+    }
+}
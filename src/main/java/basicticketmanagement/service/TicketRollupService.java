@@ -0,0 +1,301 @@
+package basicticketmanagement.service;
+
+import basicticketmanagement.model.RollupGranularity;
+import basicticketmanagement.model.Ticket;
+import basicticketmanagement.model.TicketStatus;
+import basicticketmanagement.repository.JdbcTimestamps;
+import basicticketmanagement.repository.TicketRollupRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Maintains the hourly and daily ticket rollups.
+ * <p>
+ * TicketService reports every status transition here. Transitions are counted in memory per
+ * (granularity, bucket, engineer) and periodically added to the {@code ticket_rollups} table with
+ * one batched upsert, so a burst of transitions on the same hour costs a single row update.
+ * Rollups for past days can be rebuilt from the {@code ticket_events} history with {@link #backfill}.
+ * <p>
+ * Acknowledgements reported without the ticket's creation time (the single-UPDATE acknowledge path
+ * never loads the ticket) have their latency resolved at flush time, with one batched lookup of
+ * {@code created_at} per flush instead of a read on the request path.
+ */
+@Slf4j
+@Service
+public class TicketRollupService {
+
+    private static final String[] KEY_COLUMNS = {"granularity", "bucket_start", "engineer_id"};
+    // In RollupCounters order
+    private static final String[] COUNTER_COLUMNS = {
+            "created_count", "acknowledged_count", "in_progress_count", "closed_count",
+            "ack_latency_sum_ms", "ack_latency_count",
+            "ack_le_5m", "ack_le_15m", "ack_le_1h", "ack_le_4h", "ack_le_24h", "ack_gt_24h"
+    };
+
+    // MySQL 8.0.19+ row alias form; VALUES() in ON DUPLICATE KEY UPDATE is deprecated since 8.0.20
+    private static final String MYSQL_UPSERT_SQL =
+            "INSERT INTO ticket_rollups (" + columns("") + ") VALUES (" + placeholders() + ") AS new " +
+            "ON DUPLICATE KEY UPDATE " + increments("ticket_rollups");
+
+    // Standard SQL for other databases, i.e. H2 in tests, which has no row alias form
+    private static final String MERGE_UPSERT_SQL =
+            "MERGE INTO ticket_rollups USING (VALUES (" + placeholders() + ")) AS new (" + columns("") + ") " +
+            "ON ticket_rollups.granularity = new.granularity AND ticket_rollups.bucket_start = new.bucket_start " +
+            "AND ticket_rollups.engineer_id = new.engineer_id " +
+            "WHEN MATCHED THEN UPDATE SET " + increments("ticket_rollups") + " " +
+            "WHEN NOT MATCHED THEN INSERT (" + columns("") + ") VALUES (" + columns("new.") + ")";
+
+    private static final String HISTORY_SQL =
+            "SELECT e.from_status, e.to_status, e.ts, t.created_at, e.engineer_id " +
+            "FROM ticket_events e LEFT JOIN tickets t ON t.id = e.ticket_id " +
+            "WHERE e.ts >= ? AND e.ts < ?";
+
+    private static final int LOOKUP_BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TicketRollupRepository rollupRepo;
+    private final TransactionTemplate transactionTemplate;
+    // Chosen from the database product on first use
+    private volatile String upsertSql;
+
+    // Counts not yet written, guarded by this
+    private Map<RollupKey, long[]> pending = new HashMap<>();
+    // Acknowledgements counted in pending whose latency still needs the creation time, guarded by this
+    private List<UnresolvedAck> unresolvedAcks = new ArrayList<>();
+
+    public TicketRollupService(JdbcTemplate jdbcTemplate, TicketRollupRepository rollupRepo,
+                               PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.rollupRepo = rollupRepo;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Counts a status transition in the current hour and day.
+     *
+     * @param ticket         The ticket in its new state.
+     * @param previousStatus The status before the transition, or null for a new ticket.
+     */
+    public void record(Ticket ticket, TicketStatus previousStatus) {
+        long engineerId = ticket.getAcknowledgedBy() != null ? ticket.getAcknowledgedBy().getId() : 0L;
+        long ackLatencyMillis = -1;
+        boolean resolveLater = false;
+        if (ticket.getStatus() == TicketStatus.ACKNOWLEDGED && ticket.getAcknowledgedAt() != null) {
+            if (ticket.getCreatedAt() != null) {
+                ackLatencyMillis = Duration.between(ticket.getCreatedAt(), ticket.getAcknowledgedAt()).toMillis();
+            } else {
+                resolveLater = true;
+            }
+        }
+        Instant now = Instant.now();
+        synchronized (this) {
+            count(pending, now, engineerId, previousStatus, ticket.getStatus(), ackLatencyMillis);
+            if (resolveLater) {
+                unresolvedAcks.add(new UnresolvedAck(ticket.getId(), engineerId, now, ticket.getAcknowledgedAt()));
+            }
+        }
+    }
+
+    /**
+     * Adds the pending counts to the rollup table in one transaction.
+     * Counts that fail to write are kept for the next flush; since nothing of a failed flush is
+     * committed, retrying never counts anything twice.
+     */
+    @Scheduled(fixedDelayString = "${rollup.flush-interval:5s}")
+    public void flush() {
+        Map<RollupKey, long[]> batch;
+        List<UnresolvedAck> acks;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new HashMap<>();
+            acks = unresolvedAcks;
+            unresolvedAcks = new ArrayList<>();
+        }
+        try {
+            // Latencies go into a copy, so a failed flush hands back exactly what it took
+            Map<RollupKey, long[]> counts = copy(batch);
+            resolveAckLatencies(counts, acks);
+            transactionTemplate.executeWithoutResult(status -> upsert(counts));
+        } catch (DataAccessException e) {
+            log.error("Failed to flush {} ticket rollup buckets, will retry", batch.size(), e);
+            synchronized (this) {
+                batch.forEach((key, counters) -> RollupCounters.add(pending.computeIfAbsent(key, k -> new long[RollupCounters.WIDTH]), counters));
+                unresolvedAcks.addAll(acks);
+            }
+        }
+    }
+
+    /**
+     * Recomputes the rollups of whole past days from the ticket history.
+     * The range is widened to whole UTC days and never extends into today, whose
+     * buckets are still being maintained live.
+     *
+     * @param from Start of the range.
+     * @param to   End of the range (exclusive).
+     * @return The number of history events that were aggregated.
+     */
+    public long backfill(Instant from, Instant to) {
+        Instant start = from.truncatedTo(ChronoUnit.DAYS);
+        Instant today = Instant.now().truncatedTo(ChronoUnit.DAYS);
+        Instant dayAfterTo = to.truncatedTo(ChronoUnit.DAYS).equals(to) ? to : to.truncatedTo(ChronoUnit.DAYS).plus(1, ChronoUnit.DAYS);
+        Instant end = dayAfterTo.isAfter(today) ? today : dayAfterTo;
+        if (!start.isBefore(end)) {
+            return 0;
+        }
+
+        flush();
+        Map<RollupKey, long[]> rebuilt = new HashMap<>();
+        long[] events = {0};
+        PreparedStatementSetter range = ps -> {
+            JdbcTimestamps.set(ps, 1, start);
+            JdbcTimestamps.set(ps, 2, end);
+        };
+        jdbcTemplate.query(HISTORY_SQL, range, (RowCallbackHandler) rs -> {
+            TicketStatus fromStatus = rs.getString(1) != null ? TicketStatus.valueOf(rs.getString(1)) : null;
+            TicketStatus toStatus = TicketStatus.valueOf(rs.getString(2));
+            Instant at = JdbcTimestamps.get(rs, 3);
+            Instant createdAt = JdbcTimestamps.get(rs, 4);
+            long engineerId = rs.getLong(5); // 0 when null
+            long ackLatencyMillis = toStatus == TicketStatus.ACKNOWLEDGED && createdAt != null
+                    ? Duration.between(createdAt, at).toMillis()
+                    : -1;
+            count(rebuilt, at, engineerId, fromStatus, toStatus, ackLatencyMillis);
+            events[0]++;
+        });
+
+        transactionTemplate.executeWithoutResult(status -> {
+            rollupRepo.deleteRange(start, end);
+            upsert(rebuilt);
+        });
+        log.info("Backfilled ticket rollups for [{}, {}) from {} history events", start, end, events[0]);
+        return events[0];
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flush();
+    }
+
+    private static void count(Map<RollupKey, long[]> target, Instant at, long engineerId,
+                              TicketStatus from, TicketStatus to, long ackLatencyMillis) {
+        for (RollupGranularity granularity : RollupGranularity.values()) {
+            long[] counters = target.computeIfAbsent(
+                    new RollupKey(granularity, granularity.bucketStart(at), engineerId),
+                    k -> new long[RollupCounters.WIDTH]);
+            RollupCounters.count(counters, from, to, ackLatencyMillis);
+        }
+    }
+
+    // Adds the latency of acknowledgements that were counted without the ticket's creation time
+    private void resolveAckLatencies(Map<RollupKey, long[]> batch, List<UnresolvedAck> acks) {
+        for (int from = 0; from < acks.size(); from += LOOKUP_BATCH_SIZE) {
+            List<UnresolvedAck> chunk = acks.subList(from, Math.min(acks.size(), from + LOOKUP_BATCH_SIZE));
+            Map<Long, Instant> createdAt = new HashMap<>();
+            String sql = "SELECT id, created_at FROM tickets WHERE id IN (" + String.join(",", Collections.nCopies(chunk.size(), "?")) + ")";
+            PreparedStatementSetter ids = ps -> {
+                for (int i = 0; i < chunk.size(); i++) {
+                    ps.setLong(i + 1, chunk.get(i).ticketId());
+                }
+            };
+            jdbcTemplate.query(sql, ids, (RowCallbackHandler) rs -> createdAt.put(rs.getLong(1), JdbcTimestamps.get(rs, 2)));
+            for (UnresolvedAck ack : chunk) {
+                Instant created = createdAt.get(ack.ticketId());
+                if (created == null) {
+                    continue; // Deleted since, or a legacy row without a creation time
+                }
+                long latencyMillis = Duration.between(created, ack.acknowledgedAt()).toMillis();
+                for (RollupGranularity granularity : RollupGranularity.values()) {
+                    long[] counters = batch.computeIfAbsent(
+                            new RollupKey(granularity, granularity.bucketStart(ack.countedAt()), ack.engineerId()),
+                            k -> new long[RollupCounters.WIDTH]);
+                    RollupCounters.countAckLatency(counters, latencyMillis);
+                }
+            }
+        }
+    }
+
+    private static Map<RollupKey, long[]> copy(Map<RollupKey, long[]> buckets) {
+        Map<RollupKey, long[]> copy = new HashMap<>(buckets.size() * 2);
+        buckets.forEach((key, counters) -> copy.put(key, counters.clone()));
+        return copy;
+    }
+
+    private void upsert(Map<RollupKey, long[]> buckets) {
+        if (buckets.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<RollupKey, long[]>> rows = new ArrayList<>(buckets.entrySet());
+        jdbcTemplate.batchUpdate(upsertSql(), rows, 500, (ps, row) -> {
+            RollupKey key = row.getKey();
+            ps.setString(1, key.granularity().name());
+            JdbcTimestamps.set(ps, 2, key.bucketStart());
+            ps.setLong(3, key.engineerId());
+            long[] counters = row.getValue();
+            for (int i = 0; i < RollupCounters.WIDTH; i++) {
+                ps.setLong(4 + i, counters[i]);
+            }
+        });
+    }
+
+    private String upsertSql() {
+        String sql = upsertSql;
+        if (sql == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+            sql = "MySQL".equals(product) ? MYSQL_UPSERT_SQL : MERGE_UPSERT_SQL;
+            upsertSql = sql;
+        }
+        return sql;
+    }
+
+    private static String columns(String prefix) {
+        StringJoiner joiner = new StringJoiner(", ");
+        for (String column : KEY_COLUMNS) {
+            joiner.add(prefix + column);
+        }
+        for (String column : COUNTER_COLUMNS) {
+            joiner.add(prefix + column);
+        }
+        return joiner.toString();
+    }
+
+    private static String placeholders() {
+        return String.join(", ", Collections.nCopies(KEY_COLUMNS.length + COUNTER_COLUMNS.length, "?"));
+    }
+
+    // Adds the new row's counters to the existing row's
+    private static String increments(String table) {
+        StringJoiner joiner = new StringJoiner(", ");
+        for (String column : COUNTER_COLUMNS) {
+            joiner.add(column + " = " + table + "." + column + " + new." + column);
+        }
+        return joiner.toString();
+    }
+
+    private record RollupKey(RollupGranularity granularity, Instant bucketStart, long engineerId) {
+    }
+
+    private record UnresolvedAck(Long ticketId, long engineerId, Instant countedAt, Instant acknowledgedAt) {
+    }
+}
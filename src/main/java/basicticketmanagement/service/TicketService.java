@@ -1,16 +1,23 @@
 package basicticketmanagement.service;
 
+import basicticketmanagement.dto.TicketEventDTO;
 import basicticketmanagement.model.Customer;
 import basicticketmanagement.model.Engineer;
 import basicticketmanagement.model.Ticket;
 import basicticketmanagement.model.TicketStatus;
 import basicticketmanagement.repository.CustomerRepository;
 import basicticketmanagement.repository.EngineerRepository;
+import basicticketmanagement.repository.TicketEventRepository;
 import basicticketmanagement.repository.TicketRepository;
+import basicticketmanagement.sla.SlaEngine;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.SQLException;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,38 +33,59 @@ public class TicketService {
     private final TicketRepository ticketRepo;
     private final CustomerRepository customerRepo;
     private final EngineerRepository engineerRepo;
+    private final TicketEventRepository ticketEventRepo;
+    private final TicketEventWriter ticketEventWriter;
+    private final TicketRollupService ticketRollupService;
+    private final SlaEngine slaEngine;
+    private final TicketAttachmentService ticketAttachmentService;
+    private final TransactionTemplate transactionTemplate;
 
     /**
-     * Creates a new ticket.
+     * Creates a new ticket with a single INSERT.
+     * Customer and engineer are not loaded: the ticket references them by id and the
+     * foreign keys reject ids that do not exist.
      *
      * @param customerId  The ID of the customer creating the ticket.
      * @param description The description of the ticket.
      * @param engineerId  An optional ID of the engineer to immediately acknowledge the ticket.
-     * @return The newly created Ticket object.
+     * @return The newly created Ticket object; customer and engineer are uninitialized references.
      * @throws EntityNotFoundException if the customer or specified engineer is not found.
      */
     public Ticket createTicket(Long customerId, String description, Long engineerId) {
-        Customer customer = customerRepo.findById(customerId)
-                .orElseThrow(() -> new EntityNotFoundException("Customer not found with id " + customerId));
+        Customer customer = customerRepo.getReferenceById(customerId);
 
         Ticket ticket = new Ticket();
         ticket.setCreatedBy(customer);
         ticket.setDescription(description);
+        ticket.setCreatedAt(Instant.now());
 
         if (engineerId != null) {
-            Engineer engineer = engineerRepo.findById(engineerId)
-                    .orElseThrow(() -> new EntityNotFoundException("Engineer not found with id " + engineerId));
+            Engineer engineer = engineerRepo.getReferenceById(engineerId);
             ticket.setAcknowledgedBy(engineer);
             ticket.setStatus(TicketStatus.ACKNOWLEDGED); // Set status to ACKNOWLEDGED if assigned
+            ticket.setAcknowledgedAt(ticket.getCreatedAt());
         } else {
             ticket.setStatus(TicketStatus.CREATED); // Default status if no engineer is assigned
         }
 
-        return ticketRepo.save(ticket);
+        Ticket saved;
+        try {
+            saved = ticketRepo.save(ticket);
+        } catch (DataIntegrityViolationException e) {
+            throw missingReference(e, engineerId == null
+                    ? "Customer not found with id " + customerId
+                    : "Customer " + customerId + " or engineer " + engineerId + " not found");
+        }
+        recordTransition(saved, null);
+        return saved;
     }
 
     /**
      * Acknowledges a ticket by assigning an engineer and updating its status.
+     * A CREATED ticket, the usual case, is acknowledged with a single conditional UPDATE
+     * that neither loads the ticket nor the engineer; the returned ticket then only carries
+     * its id, status, engineer reference and acknowledgement time. Tickets in any other status
+     * are loaded and saved as before, since their previous status has to be known.
      *
      * @param ticketId   The ID of the ticket to acknowledge.
      * @param engineerId The ID of the engineer acknowledging the ticket.
@@ -65,15 +93,73 @@ public class TicketService {
      * @throws EntityNotFoundException if the ticket or engineer is not found.
      */
     public Ticket acknowledgeTicket(Long ticketId, Long engineerId) {
+        Engineer engineer = engineerRepo.getReferenceById(engineerId);
+        Instant now = Instant.now();
+        int updated;
+        try {
+            updated = ticketRepo.acknowledgeIfStatus(ticketId, TicketStatus.CREATED, engineer, TicketStatus.ACKNOWLEDGED, now);
+        } catch (DataIntegrityViolationException e) {
+            throw missingReference(e, "Engineer not found with id " + engineerId);
+        }
+        if (updated == 1) {
+            Ticket ticket = new Ticket();
+            ticket.setId(ticketId);
+            ticket.setStatus(TicketStatus.ACKNOWLEDGED);
+            ticket.setAcknowledgedBy(engineer);
+            ticket.setAcknowledgedAt(now);
+            recordTransition(ticket, TicketStatus.CREATED);
+            return ticket;
+        }
+
         Ticket ticket = ticketRepo.findById(ticketId)
                 .orElseThrow(() -> new EntityNotFoundException("Ticket not found with id " + ticketId));
-
-        Engineer engineer = engineerRepo.findById(engineerId)
-                .orElseThrow(() -> new EntityNotFoundException("Engineer not found with id " + engineerId));
-
+        TicketStatus previousStatus = ticket.getStatus();
         ticket.setStatus(TicketStatus.ACKNOWLEDGED);
         ticket.setAcknowledgedBy(engineer);
-        return ticketRepo.save(ticket);
+        if (previousStatus != TicketStatus.ACKNOWLEDGED) {
+            // Re-acknowledging only reassigns the engineer; the acknowledgement time stays
+            ticket.setAcknowledgedAt(now);
+            clearEscalation(ticket);
+        }
+        Ticket saved;
+        try {
+            saved = ticketRepo.save(ticket);
+        } catch (DataIntegrityViolationException e) {
+            throw missingReference(e, "Engineer not found with id " + engineerId);
+        }
+        if (saved.getStatus() != previousStatus) {
+            recordTransition(saved, previousStatus);
+        }
+        return saved;
+    }
+
+    /**
+     * Claims the oldest unacknowledged tickets for the engineer making the request.
+     * The tickets are locked with SKIP LOCKED and acknowledged in the same transaction,
+     * so concurrent claimers get disjoint tickets without waiting for each other.
+     *
+     * @param count The maximum number of tickets to claim.
+     * @return The claimed tickets, oldest first; empty if no ticket is waiting.
+     * @throws EntityNotFoundException if the authenticated user is not an engineer.
+     */
+    public List<Ticket> claimTickets(int count) {
+        String username = CurrentActor.name();
+        Engineer engineer = engineerRepo.findByUsername(username)
+                .orElseThrow(() -> new EntityNotFoundException("Engineer not found with username " + username));
+
+        List<Ticket> claimed = transactionTemplate.execute(status -> {
+            List<Long> ids = ticketRepo.lockNextCreated(count);
+            if (ids.isEmpty()) {
+                return List.<Ticket>of();
+            }
+            ticketRepo.assign(ids, engineer, TicketStatus.ACKNOWLEDGED, Instant.now());
+            return ticketRepo.findByIdInOrderByCreatedAtAscIdAsc(ids);
+        });
+        // Only report transitions that were committed
+        for (Ticket ticket : claimed) {
+            recordTransition(ticket, TicketStatus.CREATED);
+        }
+        return claimed;
     }
 
     /**
@@ -106,12 +192,24 @@ public class TicketService {
     public Ticket updateTicket(Long id, Ticket ticketDetails) {
         return ticketRepo.findById(id)
                 .map(ticket -> {
+                    TicketStatus previousStatus = ticket.getStatus();
                     ticket.setDescription(ticketDetails.getDescription());
                     ticket.setStatus(ticketDetails.getStatus());
+                    if (ticket.getStatus() == TicketStatus.ACKNOWLEDGED && previousStatus != TicketStatus.ACKNOWLEDGED) {
+                        ticket.setAcknowledgedAt(Instant.now());
+                    }
+                    if (ticket.getStatus() != previousStatus) {
+                        clearEscalation(ticket);
+                    }
                     // You might want to allow updating acknowledgedBy as well,
                     // depending on your business rules.
                     // ticket.setAcknowledgedBy(ticketDetails.getAcknowledgedBy());
-                    return ticketRepo.save(ticket);
+                    Ticket saved = ticketRepo.save(ticket);
+                    // A ticket whose status was cleared has no state to record a transition to
+                    if (saved.getStatus() != previousStatus && saved.getStatus() != null) {
+                        recordTransition(saved, previousStatus);
+                    }
+                    return saved;
                 })
                 .orElseThrow(() -> new EntityNotFoundException("Ticket not found with id " + id));
     }
@@ -127,5 +225,57 @@ public class TicketService {
             throw new EntityNotFoundException("Ticket not found with id " + id);
         }
         ticketRepo.deleteById(id);
+        slaEngine.onDeleted(id);
+        ticketAttachmentService.deleteAttachments(id);
+    }
+
+    /**
+     * Retrieves the status history of a ticket, oldest first.
+     * Events are written asynchronously, so a transition can take up to one
+     * flush interval to appear here.
+     *
+     * @param id The ID of the ticket.
+     * @return The list of status transitions.
+     * @throws EntityNotFoundException if no ticket with the given ID is found.
+     */
+    public List<TicketEventDTO> getTicketHistory(Long id) {
+        if (!ticketRepo.existsById(id)) {
+            throw new EntityNotFoundException("Ticket not found with id " + id);
+        }
+        return ticketEventRepo.findByTicketIdOrderByTimestampAscIdAsc(id).stream()
+                .map(TicketEventDTO::from)
+                .toList();
+    }
+
+    private void recordTransition(Ticket ticket, TicketStatus previousStatus) {
+        Long engineerId = ticket.getAcknowledgedBy() != null ? ticket.getAcknowledgedBy().getId() : null;
+        ticketEventWriter.record(ticket.getId(), previousStatus, ticket.getStatus(), CurrentActor.name(), engineerId);
+        ticketRollupService.record(ticket, previousStatus);
+        slaEngine.onTransition(ticket);
+    }
+
+    // A new status starts a new SLA stage, which has not been escalated yet
+    private static void clearEscalation(Ticket ticket) {
+        ticket.setEscalatedStatus(null);
+        ticket.setEscalatedAt(null);
+    }
+
+    // Translates a foreign key violation into the not-found error callers already handle
+    private static RuntimeException missingReference(DataIntegrityViolationException e, String message) {
+        if (!isForeignKeyViolation(e)) {
+            return e;
+        }
+        EntityNotFoundException notFound = new EntityNotFoundException(message);
+        notFound.initCause(e);
+        return notFound;
+    }
+
+    private static boolean isForeignKeyViolation(DataIntegrityViolationException e) {
+        if (e.getMostSpecificCause() instanceof SQLException sqlException) {
+            return sqlException.getErrorCode() == 1452 // MySQL: cannot add or update a child row
+                    || "23503".equals(sqlException.getSQLState()) // SQL standard foreign key violation
+                    || "23506".equals(sqlException.getSQLState()); // H2: referenced row missing
+        }
+        return false;
     }
-}
\ No newline at end of file
+}
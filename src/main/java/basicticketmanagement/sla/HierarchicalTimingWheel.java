@@ -0,0 +1,197 @@
+package basicticketmanagement.sla;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hierarchical timing wheel holding one pending deadline per key.
+ * <p>
+ * Each level has 64 slots; a slot on level {@code n} spans {@code 64^n} ticks. A deadline is put on
+ * the lowest level whose range covers it and moves down ("cascades") as time approaches it, so
+ * scheduling and cancelling are O(1) and advancing one tick only touches the entries due in it.
+ * Slots are intrusive doubly linked lists, which is what makes cancellation O(1).
+ * <p>
+ * Not lock-free: all operations are short and synchronized on the wheel.
+ *
+ * @param <T> The payload returned when a deadline expires.
+ */
+public final class HierarchicalTimingWheel<T> {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+
+    private final long tickMillis;
+    private final int levels;
+    private final long maxSpanTicks;
+    private final Node<T>[][] slots;
+    private final Map<Long, Node<T>> byKey;
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimingWheel(long tickMillis, int levels, long startMillis, int expectedSize) {
+        if (tickMillis <= 0 || levels <= 0 || SLOT_BITS * levels >= 63) {
+            throw new IllegalArgumentException("Invalid timing wheel geometry");
+        }
+        this.tickMillis = tickMillis;
+        this.levels = levels;
+        this.maxSpanTicks = (1L << (SLOT_BITS * levels)) - 1;
+        this.slots = new Node[levels][SLOTS];
+        this.byKey = new HashMap<>(Math.max(16, (int) (expectedSize / 0.75f) + 1));
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /**
+     * Schedules (or reschedules) the deadline for a key.
+     *
+     * @param key            The key, e.g. a ticket id.
+     * @param deadlineMillis The epoch milliseconds at which the entry expires.
+     * @param payload        The value returned by {@link #advanceTo(long)} once expired.
+     */
+    public synchronized void schedule(long key, long deadlineMillis, T payload) {
+        Node<T> previous = byKey.remove(key);
+        if (previous != null) {
+            unlink(previous);
+        }
+        Node<T> node = new Node<>(key, ceilDiv(deadlineMillis, tickMillis), payload);
+        byKey.put(key, node);
+        insert(node, currentTick + 1);
+    }
+
+    /**
+     * Schedules the deadline only if the key has none yet.
+     *
+     * @return true if the deadline was added.
+     */
+    public synchronized boolean scheduleIfAbsent(long key, long deadlineMillis, T payload) {
+        if (byKey.containsKey(key)) {
+            return false;
+        }
+        schedule(key, deadlineMillis, payload);
+        return true;
+    }
+
+    /**
+     * Removes the pending deadline of a key.
+     *
+     * @return true if a deadline was pending.
+     */
+    public synchronized boolean cancel(long key) {
+        Node<T> node = byKey.remove(key);
+        if (node == null) {
+            return false;
+        }
+        unlink(node);
+        return true;
+    }
+
+    /**
+     * Advances the wheel to the given time.
+     *
+     * @param nowMillis The current epoch milliseconds.
+     * @return The payloads of all deadlines that are due by now.
+     */
+    public synchronized List<T> advanceTo(long nowMillis) {
+        List<T> expired = new ArrayList<>();
+        long targetTick = nowMillis / tickMillis;
+        while (currentTick < targetTick) {
+            currentTick++;
+            cascade();
+            Node<T> node = detach(0, (int) (currentTick & SLOT_MASK));
+            while (node != null) {
+                Node<T> next = node.next;
+                node.prev = node.next = null;
+                if (node.deadlineTick <= currentTick) {
+                    byKey.remove(node.key);
+                    expired.add(node.payload);
+                } else {
+                    insert(node, currentTick + 1);
+                }
+                node = next;
+            }
+        }
+        return expired;
+    }
+
+    public synchronized int size() {
+        return byKey.size();
+    }
+
+    // Moves the entries of every higher-level slot that has just become current down the hierarchy
+    private void cascade() {
+        for (int level = 1; level < levels; level++) {
+            int shift = SLOT_BITS * level;
+            if ((currentTick & ((1L << shift) - 1)) != 0) {
+                return;
+            }
+            Node<T> node = detach(level, (int) ((currentTick >>> shift) & SLOT_MASK));
+            while (node != null) {
+                Node<T> next = node.next;
+                node.prev = node.next = null;
+                // The current level 0 slot is processed right after the cascade, so entries due now land there
+                insert(node, currentTick);
+                node = next;
+            }
+        }
+    }
+
+    // Places a node in the slot of its deadline tick, or of earliestTick if that is later
+    private void insert(Node<T> node, long earliestTick) {
+        // Beyond the wheel's span: park in the top level, it cascades back in later
+        long delta = Math.min(Math.max(node.deadlineTick, earliestTick) - currentTick, maxSpanTicks);
+        long effectiveTick = currentTick + delta;
+        int level = 0;
+        while (level < levels - 1 && delta >= (1L << (SLOT_BITS * (level + 1)))) {
+            level++;
+        }
+        int slot = (int) ((effectiveTick >>> (SLOT_BITS * level)) & SLOT_MASK);
+        Node<T> head = slots[level][slot];
+        node.level = level;
+        node.slot = slot;
+        node.next = head;
+        if (head != null) {
+            head.prev = node;
+        }
+        slots[level][slot] = node;
+    }
+
+    private void unlink(Node<T> node) {
+        if (node.prev != null) {
+            node.prev.next = node.next;
+        } else if (slots[node.level][node.slot] == node) {
+            slots[node.level][node.slot] = node.next;
+        }
+        if (node.next != null) {
+            node.next.prev = node.prev;
+        }
+        node.prev = node.next = null;
+    }
+
+    private Node<T> detach(int level, int slot) {
+        Node<T> head = slots[level][slot];
+        slots[level][slot] = null;
+        return head;
+    }
+
+    private static long ceilDiv(long value, long divisor) {
+        return -Math.floorDiv(-value, divisor);
+    }
+
+    private static final class Node<T> {
+        private final long key;
+        private final long deadlineTick;
+        private final T payload;
+        private Node<T> prev;
+        private Node<T> next;
+        private int level;
+        private int slot;
+
+        private Node(long key, long deadlineTick, T payload) {
+            this.key = key;
+            this.deadlineTick = deadlineTick;
+            this.payload = payload;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package basicticketmanagement.sla;
+
+import basicticketmanagement.model.Ticket;
+import basicticketmanagement.model.TicketStatus;
+import basicticketmanagement.repository.OpenTicketView;
+import basicticketmanagement.repository.TicketRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks the SLA deadline of every open ticket and escalates the ones that miss it.
+ * <p>
+ * A CREATED ticket must be acknowledged within {@code sla.acknowledge-within}; an ACKNOWLEDGED
+ * ticket must move on within {@code sla.resolve-within}. Deadlines live in memory in a
+ * {@link HierarchicalTimingWheel} that TicketService updates on every transition, so nothing
+ * scans the tickets table while the application runs. At startup the wheel is rebuilt from
+ * the open tickets with a keyset scan over the (status, created_at) index.
+ * Missed deadlines are published as {@link TicketEscalationEvent}s in batches. Escalated tickets are
+ * marked with the status they missed the SLA in, so the rebuild after a restart skips them
+ * instead of escalating them again; the mark is cleared when the ticket changes status.
+ */
+@Slf4j
+@Component
+public class SlaEngine {
+
+    private final TicketRepository ticketRepo;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration acknowledgeWithin;
+    private final Duration resolveWithin;
+    private final int batchSize;
+    private final HierarchicalTimingWheel<SlaEscalation> wheel;
+
+    // Tickets that changed while the startup rebuild runs; the rebuild must not overwrite them
+    private final Set<Long> touchedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuilding;
+
+    public SlaEngine(TicketRepository ticketRepo,
+                     ApplicationEventPublisher eventPublisher,
+                     @Value("${sla.acknowledge-within:4h}") Duration acknowledgeWithin,
+                     @Value("${sla.resolve-within:24h}") Duration resolveWithin,
+                     @Value("${sla.tick:1s}") Duration tick,
+                     @Value("${sla.batch-size:1000}") int batchSize) {
+        this.ticketRepo = ticketRepo;
+        this.eventPublisher = eventPublisher;
+        this.acknowledgeWithin = acknowledgeWithin;
+        this.resolveWithin = resolveWithin;
+        this.batchSize = batchSize;
+        // 4 levels of 64 slots cover 64^4 ticks, about 194 days at one-second ticks
+        this.wheel = new HierarchicalTimingWheel<>(tick.toMillis(), 4, System.currentTimeMillis(), 1 << 16);
+    }
+
+    /**
+     * Updates the pending deadline after a ticket changed status.
+     *
+     * @param ticket The ticket in its new state.
+     */
+    public void onTransition(Ticket ticket) {
+        if (rebuilding) {
+            touchedDuringRebuild.add(ticket.getId());
+        }
+        SlaEscalation deadline = deadlineFor(ticket.getId(), ticket.getStatus(), ticket.getCreatedAt(), ticket.getAcknowledgedAt());
+        if (deadline != null) {
+            wheel.schedule(ticket.getId(), deadline.deadline().toEpochMilli(), deadline);
+        } else {
+            wheel.cancel(ticket.getId());
+        }
+    }
+
+    /**
+     * Drops the pending deadline of a deleted ticket.
+     *
+     * @param ticketId The ID of the deleted ticket.
+     */
+    public void onDeleted(Long ticketId) {
+        if (rebuilding) {
+            touchedDuringRebuild.add(ticketId);
+        }
+        wheel.cancel(ticketId);
+    }
+
+    /**
+     * Loads the deadlines of all open tickets once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        rebuilding = true;
+        long start = System.nanoTime();
+        int loaded = 0;
+        try {
+            for (TicketStatus status : List.of(TicketStatus.CREATED, TicketStatus.ACKNOWLEDGED)) {
+                Instant afterCreatedAt = Instant.EPOCH;
+                Long afterId = 0L;
+                List<OpenTicketView> page;
+                do {
+                    page = ticketRepo.findOpenPage(status, afterCreatedAt, afterId, PageRequest.ofSize(batchSize));
+                    for (OpenTicketView view : page) {
+                        SlaEscalation deadline = deadlineFor(view.getId(), view.getStatus(), view.getCreatedAt(), view.getAcknowledgedAt());
+                        if (deadline != null && !touchedDuringRebuild.contains(view.getId())
+                                && wheel.scheduleIfAbsent(view.getId(), deadline.deadline().toEpochMilli(), deadline)) {
+                            loaded++;
+                        }
+                    }
+                    if (!page.isEmpty()) {
+                        OpenTicketView last = page.get(page.size() - 1);
+                        afterCreatedAt = last.getCreatedAt();
+                        afterId = last.getId();
+                    }
+                } while (page.size() == batchSize);
+            }
+        } finally {
+            rebuilding = false;
+            touchedDuringRebuild.clear();
+        }
+        log.info("SLA engine loaded {} pending deadlines in {} ms", loaded, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Advances the wheel, marks the tickets whose deadline passed as escalated and publishes them.
+     */
+    @Scheduled(fixedRateString = "${sla.tick:1s}")
+    public void tick() {
+        List<SlaEscalation> due = wheel.advanceTo(System.currentTimeMillis());
+        for (int from = 0; from < due.size(); from += batchSize) {
+            List<SlaEscalation> batch = List.copyOf(due.subList(from, Math.min(due.size(), from + batchSize)));
+            markEscalated(batch);
+            eventPublisher.publishEvent(new TicketEscalationEvent(batch));
+        }
+    }
+
+    /**
+     * Default handling of escalations: log them. Other components can listen for
+     * {@link TicketEscalationEvent} to notify people or reassign tickets.
+     */
+    @EventListener
+    public void logEscalations(TicketEscalationEvent event) {
+        log.warn("{} tickets missed their SLA: {}", event.escalations().size(),
+                event.escalations().stream().map(e -> e.ticketId() + "/" + e.stage()).toList());
+    }
+
+    public int pendingDeadlines() {
+        return wheel.size();
+    }
+
+    private void markEscalated(List<SlaEscalation> escalations) {
+        List<Long> unacknowledged = new ArrayList<>();
+        List<Long> unresolved = new ArrayList<>();
+        for (SlaEscalation escalation : escalations) {
+            (escalation.stage() == SlaEscalation.Stage.ACKNOWLEDGE ? unacknowledged : unresolved).add(escalation.ticketId());
+        }
+        Instant now = Instant.now();
+        try {
+            if (!unacknowledged.isEmpty()) {
+                ticketRepo.markEscalated(unacknowledged, TicketStatus.CREATED, now);
+            }
+            if (!unresolved.isEmpty()) {
+                ticketRepo.markEscalated(unresolved, TicketStatus.ACKNOWLEDGED, now);
+            }
+        } catch (DataAccessException e) {
+            // Still publish: escalating again after a restart beats not escalating at all
+            log.error("Failed to mark {} tickets as escalated", escalations.size(), e);
+        }
+    }
+
+    private SlaEscalation deadlineFor(Long ticketId, TicketStatus status, Instant createdAt, Instant acknowledgedAt) {
+        if (status == TicketStatus.CREATED && createdAt != null) {
+            return new SlaEscalation(ticketId, SlaEscalation.Stage.ACKNOWLEDGE, createdAt.plus(acknowledgeWithin));
+        }
+        if (status == TicketStatus.ACKNOWLEDGED && acknowledgedAt != null) {
+            return new SlaEscalation(ticketId, SlaEscalation.Stage.RESOLVE, acknowledgedAt.plus(resolveWithin));
+        }
+        return null;
+    }
+}
@@ -0,0 +1,20 @@
+package basicticketmanagement.sla;
+
+import java.time.Instant;
+
+/**
+ * A ticket that missed its SLA deadline.
+ *
+ * @param ticketId The ID of the overdue ticket.
+ * @param stage    Which deadline was missed.
+ * @param deadline When the deadline passed.
+ */
+public record SlaEscalation(Long ticketId, Stage stage, Instant deadline) {
+
+    public enum Stage {
+        // Ticket stayed CREATED past sla.acknowledge-within
+        ACKNOWLEDGE,
+        // Ticket stayed ACKNOWLEDGED past sla.resolve-within
+        RESOLVE
+    }
+}
@@ -0,0 +1,11 @@
+package basicticketmanagement.sla;
+
+import java.util.List;
+
+/**
+ * Application event published by {@link SlaEngine} with a batch of overdue tickets.
+ *
+ * @param escalations The escalations in this batch, never empty.
+ */
+public record TicketEscalationEvent(List<SlaEscalation> escalations) {
+}
@@ -0,0 +1,59 @@
+package basicticketmanagement.attachment;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileDownloadsTest {
+
+    private static final long SIZE = 1000;
+
+    @Test
+    void parsesClosedRanges() {
+        assertThat(FileDownloads.parseRange("bytes=0-99", SIZE)).containsExactly(0, 99);
+        assertThat(FileDownloads.parseRange("bytes= 10 - 10 ", SIZE)).containsExactly(10, 10);
+    }
+
+    @Test
+    void clampsTheEndToTheLastByte() {
+        assertThat(FileDownloads.parseRange("bytes=900-5000", SIZE)).containsExactly(900, 999);
+    }
+
+    @Test
+    void parsesOpenEndedRanges() {
+        assertThat(FileDownloads.parseRange("bytes=500-", SIZE)).containsExactly(500, 999);
+        assertThat(FileDownloads.parseRange("bytes=999-", SIZE)).containsExactly(999, 999);
+    }
+
+    @Test
+    void parsesSuffixRanges() {
+        assertThat(FileDownloads.parseRange("bytes=-100", SIZE)).containsExactly(900, 999);
+        // A suffix longer than the file is the whole file
+        assertThat(FileDownloads.parseRange("bytes=-5000", SIZE)).containsExactly(0, 999);
+    }
+
+    @Test
+    void reportsUnsatisfiableRanges() {
+        assertThat(FileDownloads.parseRange("bytes=1000-", SIZE)).isEmpty();
+        assertThat(FileDownloads.parseRange("bytes=1000-2000", SIZE)).isEmpty();
+        assertThat(FileDownloads.parseRange("bytes=-0", SIZE)).isEmpty();
+        assertThat(FileDownloads.parseRange("bytes=-10", 0)).isEmpty();
+    }
+
+    @Test
+    void ignoresMultipleRanges() {
+        assertThat(FileDownloads.parseRange("bytes=0-99,200-299", SIZE)).isNull();
+        assertThat(FileDownloads.parseRange("bytes=0-99, -100", SIZE)).isNull();
+    }
+
+    @Test
+    void ignoresMalformedRanges() {
+        assertThat(FileDownloads.parseRange("items=0-99", SIZE)).isNull();
+        assertThat(FileDownloads.parseRange("bytes=", SIZE)).isNull();
+        assertThat(FileDownloads.parseRange("bytes=100", SIZE)).isNull();
+        assertThat(FileDownloads.parseRange("bytes=-", SIZE)).isNull();
+        assertThat(FileDownloads.parseRange("bytes=99-10", SIZE)).isNull();
+        assertThat(FileDownloads.parseRange("bytes=a-b", SIZE)).isNull();
+        assertThat(FileDownloads.parseRange("bytes=--5", SIZE)).isNull();
+    }
+}
@@ -0,0 +1,112 @@
+package basicticketmanagement.bulkhead;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveBulkheadTest {
+
+    private static final Duration HOUR = Duration.ofHours(1);
+
+    @Test
+    void admitsUpToTheLimitThenRejects() {
+        AdaptiveBulkhead bulkhead = bulkhead(4, 1, 10, HOUR);
+        for (int i = 0; i < 4; i++) {
+            assertThat(bulkhead.tryAcquire()).isTrue();
+        }
+
+        assertThat(bulkhead.tryAcquire()).isFalse();
+        assertThat(bulkhead.getRejected()).isEqualTo(1);
+        assertThat(bulkhead.getInFlight()).isEqualTo(4);
+
+        bulkhead.release(0, false);
+        assertThat(bulkhead.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void fastResponsesWhileBusyGrowTheLimitByOneOverLimit() {
+        AdaptiveBulkhead bulkhead = bulkhead(10, 1, 20, HOUR);
+        fill(bulkhead);
+
+        // l' = l + 1/l, so l^2 grows by a little over 2 per response: 20 responses take 10 to about 11.8
+        cycle(bulkhead, 20, 0, false);
+
+        assertThat(bulkhead.getLimit()).isEqualTo(11);
+    }
+
+    @Test
+    void fastResponsesWhileLightlyUsedKeepTheLimit() {
+        AdaptiveBulkhead bulkhead = bulkhead(10, 1, 20, HOUR);
+
+        for (int i = 0; i < 100; i++) {
+            bulkhead.tryAcquire();
+            bulkhead.release(0, false);
+        }
+
+        assertThat(bulkhead.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    void slowResponseShrinksTheLimitOncePerThreshold() {
+        Duration threshold = Duration.ofMinutes(10);
+        AdaptiveBulkhead bulkhead = bulkhead(10, 1, 20, threshold);
+        fill(bulkhead);
+
+        bulkhead.release(threshold.toNanos() + 1, false);
+        assertThat(bulkhead.getLimit()).isEqualTo(9);
+
+        // Still within the threshold of the last decrease
+        bulkhead.release(threshold.toNanos() + 1, false);
+        assertThat(bulkhead.getLimit()).isEqualTo(9);
+    }
+
+    @Test
+    void failedResponseShrinksTheLimit() {
+        AdaptiveBulkhead bulkhead = bulkhead(10, 1, 20, HOUR);
+        bulkhead.tryAcquire();
+
+        bulkhead.release(0, true);
+
+        assertThat(bulkhead.getLimit()).isEqualTo(9);
+    }
+
+    @Test
+    void limitStaysWithinItsBounds() {
+        AdaptiveBulkhead bulkhead = bulkhead(5, 2, 6, Duration.ZERO);
+        fill(bulkhead);
+
+        cycle(bulkhead, 200, 0, false);
+        assertThat(bulkhead.getLimit()).isEqualTo(6);
+
+        cycle(bulkhead, 200, 0, true);
+        assertThat(bulkhead.getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    void clampsTheConfiguredLimits() {
+        assertThat(bulkhead(50, 2, 20, HOUR).getLimit()).isEqualTo(20);
+        assertThat(bulkhead(0, 3, 10, HOUR).getLimit()).isEqualTo(3);
+        assertThat(bulkhead(0, 0, 10, HOUR).getLimit()).isEqualTo(1);
+        assertThat(bulkhead(8, 8, 4, HOUR).getLimit()).isEqualTo(8);
+    }
+
+    private static AdaptiveBulkhead bulkhead(int initial, int min, int max, Duration threshold) {
+        return new AdaptiveBulkhead(BulkheadType.READ, new BulkheadProperties.Limit(initial, min, max, threshold));
+    }
+
+    private static void fill(AdaptiveBulkhead bulkhead) {
+        while (bulkhead.tryAcquire()) {
+            // admit until the limit is reached
+        }
+    }
+
+    // Completes one request and admits the next, keeping the bulkhead full
+    private static void cycle(AdaptiveBulkhead bulkhead, int times, long latencyNanos, boolean failed) {
+        for (int i = 0; i < times; i++) {
+            bulkhead.release(latencyNanos, failed);
+            fill(bulkhead);
+        }
+    }
+}
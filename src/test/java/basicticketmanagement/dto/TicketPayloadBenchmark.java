@@ -0,0 +1,56 @@
+package basicticketmanagement.dto;
+
+import basicticketmanagement.model.Ticket;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static basicticketmanagement.dto.TicketPayloadFixtures.CBOR;
+import static basicticketmanagement.dto.TicketPayloadFixtures.JSON;
+import static basicticketmanagement.dto.TicketPayloadFixtures.SMILE;
+
+/**
+ * Size and serialization throughput of a 100-ticket list, as returned by GET /tickets, for the Ticket
+ * entity, TicketResponseDTO and its lean variant in each format. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class TicketPayloadBenchmark {
+
+    private static final int TICKETS = 100;
+    private static final int WARMUP_ROUNDS = 20_000;
+    private static final int MEASURED_ROUNDS = 20_000;
+
+    @Test
+    void serializeTicketList() throws Exception {
+        List<Ticket> entities = new ArrayList<>();
+        for (int i = 0; i < TICKETS; i++) {
+            entities.add(TicketPayloadFixtures.ticket());
+        }
+        List<TicketResponseDTO> dtos = entities.stream().map(TicketResponseDTO::from).toList();
+        List<TicketResponseDTO> leans = entities.stream().map(TicketResponseDTO::lean).toList();
+
+        for (ObjectMapper mapper : new ObjectMapper[]{JSON, CBOR, SMILE}) {
+            report(mapper, "entity", entities);
+            report(mapper, "dto", dtos);
+            report(mapper, "lean", leans);
+        }
+    }
+
+    private static void report(ObjectMapper mapper, String shape, Object value) throws Exception {
+        long bytes = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            bytes += mapper.writeValueAsBytes(value).length;
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            bytes += mapper.writeValueAsBytes(value).length;
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("%-6s %-6s %6d bytes/ticket %10.0f tickets/s (checksum %d)%n",
+                mapper.getFactory().getFormatName(), shape, mapper.writeValueAsBytes(value).length / TICKETS,
+                (double) MEASURED_ROUNDS * TICKETS * 1e9 / elapsed, bytes);
+    }
+}
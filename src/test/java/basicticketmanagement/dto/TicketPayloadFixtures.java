@@ -0,0 +1,48 @@
+package basicticketmanagement.dto;
+
+import basicticketmanagement.model.Customer;
+import basicticketmanagement.model.Engineer;
+import basicticketmanagement.model.Ticket;
+import basicticketmanagement.model.TicketStatus;
+import basicticketmanagement.model.UserRole;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Instant;
+
+/**
+ * A typical acknowledged ticket and the mappers the ticket endpoints serialize it with,
+ * shared by the payload size test and benchmark.
+ */
+final class TicketPayloadFixtures {
+
+    // A BCrypt hash, as the Ticket entity used to carry for both linked users
+    private static final String PASSWORD_HASH = "$2a$10$N9qo8uLOickgx2ZMRZoMyeIjZAgcfl7p92ldGxad68LJZdL17lhWy";
+
+    static final ObjectMapper JSON = Jackson2ObjectMapperBuilder.json().build();
+    static final ObjectMapper CBOR = Jackson2ObjectMapperBuilder.cbor().build();
+    static final ObjectMapper SMILE = Jackson2ObjectMapperBuilder.smile().build();
+
+    private TicketPayloadFixtures() {
+    }
+
+    static Ticket ticket() {
+        Customer customer = new Customer();
+        customer.setId(42L);
+        customer.setUsername("alice.customer");
+        customer.setPassword(PASSWORD_HASH);
+        customer.setRole(UserRole.CUSTOMER);
+        Engineer engineer = new Engineer(7L, "bob.engineer", PASSWORD_HASH);
+        engineer.setRole(UserRole.ENGINEER);
+
+        Ticket ticket = new Ticket();
+        ticket.setId(1001L);
+        ticket.setDescription("Login page returns an error since this morning");
+        ticket.setStatus(TicketStatus.ACKNOWLEDGED);
+        ticket.setCreatedBy(customer);
+        ticket.setAcknowledgedBy(engineer);
+        ticket.setCreatedAt(Instant.parse("2025-01-15T09:30:00Z"));
+        ticket.setAcknowledgedAt(Instant.parse("2025-01-15T10:05:00Z"));
+        return ticket;
+    }
+}
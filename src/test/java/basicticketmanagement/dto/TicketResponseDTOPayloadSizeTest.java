@@ -0,0 +1,49 @@
+package basicticketmanagement.dto;
+
+import basicticketmanagement.model.Ticket;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static basicticketmanagement.dto.TicketPayloadFixtures.CBOR;
+import static basicticketmanagement.dto.TicketPayloadFixtures.JSON;
+import static basicticketmanagement.dto.TicketPayloadFixtures.SMILE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the bytes one ticket takes on the wire: the Ticket entity the endpoints used to return,
+ * the flat TicketResponseDTO and its lean variant, each as JSON, CBOR and Smile.
+ * The sizes themselves are reported by TicketPayloadBenchmark.
+ */
+class TicketResponseDTOPayloadSizeTest {
+
+    private final Ticket ticket = TicketPayloadFixtures.ticket();
+
+    @Test
+    void dtoDoesNotExposeUserDetails() throws Exception {
+        String entity = JSON.writeValueAsString(ticket);
+        String dto = JSON.writeValueAsString(TicketResponseDTO.from(ticket));
+        String lean = JSON.writeValueAsString(TicketResponseDTO.lean(ticket));
+
+        assertThat(entity).contains("password", "role");
+        assertThat(dto).doesNotContain("password", "role");
+        assertThat(lean).doesNotContain("password", "role");
+    }
+
+    @Test
+    void dtoIsSmallerInEveryFormatAndBinaryFormatsAreSmallerThanJson() throws Exception {
+        int entityJson = JSON.writeValueAsBytes(ticket).length;
+        int dtoJson = JSON.writeValueAsBytes(TicketResponseDTO.from(ticket)).length;
+        for (ObjectMapper mapper : new ObjectMapper[]{JSON, CBOR, SMILE}) {
+            int entity = mapper.writeValueAsBytes(ticket).length;
+            int dto = mapper.writeValueAsBytes(TicketResponseDTO.from(ticket)).length;
+            int lean = mapper.writeValueAsBytes(TicketResponseDTO.lean(ticket)).length;
+
+            assertThat(dto).isLessThan(entity);
+            assertThat(lean).isLessThan(dto);
+            if (mapper != JSON) {
+                assertThat(entity).isLessThan(entityJson);
+                assertThat(dto).isLessThan(dtoJson);
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package basicticketmanagement.logging;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Statement throughput against in-memory H2 with SQL tracing off, on but never sampling
+ * (the proxy overhead alone) and on at the default 1% sample rate.
+ * Each iteration is a primary key SELECT and an INSERT, the shape of most ticket requests.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class SqlTracingDataSourceBenchmark {
+
+    private static final int WARMUP = 50_000;
+    private static final int MEASURED = 200_000;
+
+    private final DataSource h2 = new DriverManagerDataSource("jdbc:h2:mem:sqltrace;DB_CLOSE_DELAY=-1", "sa", "");
+
+    @Test
+    void tracingOverhead() throws Exception {
+        try (Connection connection = h2.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS bench (id BIGINT AUTO_INCREMENT PRIMARY KEY, payload VARCHAR(64))");
+            statement.execute("INSERT INTO bench (payload) VALUES ('seed')");
+        }
+
+        report("tracing off", h2);
+        report("tracing on, rate 0", new SqlTracingDataSource(h2, properties(0)));
+        report("tracing on, rate 0.01", new SqlTracingDataSource(h2, properties(0.01)));
+    }
+
+    private static void report(String scenario, DataSource dataSource) throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement select = connection.prepareStatement("SELECT payload FROM bench WHERE id = ?");
+             PreparedStatement insert = connection.prepareStatement("INSERT INTO bench (payload) VALUES (?)")) {
+            run(select, insert, WARMUP);
+            long start = System.nanoTime();
+            run(select, insert, MEASURED);
+            long elapsed = System.nanoTime() - start;
+            System.out.printf("%-22s %7.0f ns/statement %10.0f statements/s%n",
+                    scenario, elapsed / (2.0 * MEASURED), 2.0 * MEASURED * 1e9 / elapsed);
+        }
+    }
+
+    private static void run(PreparedStatement select, PreparedStatement insert, int times) throws Exception {
+        for (int i = 0; i < times; i++) {
+            select.setLong(1, 1);
+            try (ResultSet resultSet = select.executeQuery()) {
+                resultSet.next();
+            }
+            insert.setString(1, "row " + i);
+            insert.executeUpdate();
+        }
+    }
+
+    private static SqlTraceProperties properties(double sampleRate) {
+        SqlTraceProperties properties = new SqlTraceProperties();
+        properties.setEnabled(true);
+        properties.setSampleRate(sampleRate);
+        // Nothing in memory is this slow, so only sampling decides what is logged
+        properties.setSlowThreshold(Duration.ofSeconds(10));
+        return properties;
+    }
+}
@@ -0,0 +1,123 @@
+package basicticketmanagement.ratelimit;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Per-request cost of the rate limit filter with the groups from application.properties:
+ * one client on one thread, many clients on one thread, and one client per thread on all cores.
+ * Buckets are sized so every request is admitted, which is the path every request pays for.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class RateLimitFilterBenchmark {
+
+    private static final int WARMUP = 500_000;
+    private static final int MEASURED = 2_000_000;
+    private static final FilterChain NO_OP = (request, response) -> {
+    };
+
+    private final RateLimitProperties properties = properties();
+    private final RateLimitFilter filter = new RateLimitFilter(new RateLimiter(properties), properties);
+
+    @Test
+    void oneClient() throws Exception {
+        MockHttpServletRequest request = request("10.0.0.1");
+        run(request, WARMUP);
+        long start = System.nanoTime();
+        run(request, MEASURED);
+        report("one client, one thread", MEASURED, System.nanoTime() - start);
+    }
+
+    @Test
+    void manyClients() throws Exception {
+        MockHttpServletRequest[] requests = new MockHttpServletRequest[10_000];
+        for (int i = 0; i < requests.length; i++) {
+            requests[i] = request("10.0." + (i / 256) + "." + (i % 256));
+        }
+        for (int i = 0; i < WARMUP; i++) {
+            filter.doFilter(requests[i % requests.length], new MockHttpServletResponse(), NO_OP);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED; i++) {
+            filter.doFilter(requests[i % requests.length], new MockHttpServletResponse(), NO_OP);
+        }
+        report("10k clients, one thread", MEASURED, System.nanoTime() - start);
+    }
+
+    @Test
+    void oneClientPerThread() throws Exception {
+        int threads = Runtime.getRuntime().availableProcessors();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                MockHttpServletRequest request = request("10.1.0." + t);
+                futures.add(executor.submit(() -> {
+                    run(request, WARMUP);
+                    start.await();
+                    run(request, MEASURED);
+                    return null;
+                }));
+            }
+            long begin = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            report(threads + " clients, " + threads + " threads", (long) threads * MEASURED, System.nanoTime() - begin);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void run(MockHttpServletRequest request, int times) throws Exception {
+        for (int i = 0; i < times; i++) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, NO_OP);
+            assertThat(response.getStatus()).isEqualTo(200);
+        }
+    }
+
+    private static void report(String scenario, long requests, long nanos) {
+        System.out.printf("%-24s %6.0f ns/request %12.0f requests/s%n",
+                scenario, (double) nanos / requests, requests * 1e9 / nanos);
+    }
+
+    private static MockHttpServletRequest request(String remoteAddr) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/tickets/42");
+        request.setRemoteAddr(remoteAddr);
+        return request;
+    }
+
+    private static RateLimitProperties properties() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getGroups().put("login", group(List.of("/login"), RateLimitProperties.KeyType.IP));
+        properties.getGroups().put("tickets", group(List.of("/tickets/**"), RateLimitProperties.KeyType.USER));
+        properties.getGroups().put("users", group(List.of("/customers/**", "/engineers/**"), RateLimitProperties.KeyType.USER));
+        return properties;
+    }
+
+    private static RateLimitProperties.Group group(List<String> paths, RateLimitProperties.KeyType key) {
+        RateLimitProperties.Group group = new RateLimitProperties.Group();
+        group.setPaths(paths);
+        group.setKey(key);
+        // One token per nanosecond: nothing is ever rejected, so only the bookkeeping is measured
+        group.setCapacity(1_000_000);
+        group.setRefillPerSecond(1e9);
+        return group;
+    }
+}
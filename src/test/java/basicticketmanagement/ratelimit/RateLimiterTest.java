@@ -0,0 +1,40 @@
+package basicticketmanagement.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterTest {
+
+    private final RateLimitProperties properties = new RateLimitProperties();
+    private final RateLimitProperties.Group group = new RateLimitProperties.Group();
+
+    RateLimiterTest() {
+        properties.setMaxBuckets(2);
+        group.setCapacity(1);
+        group.setRefillPerSecond(0.001);
+    }
+
+    @Test
+    void limitsEachClientSeparately() {
+        RateLimiter rateLimiter = new RateLimiter(properties);
+
+        assertThat(rateLimiter.tryAcquire("tickets", group, "ip:a")).isZero();
+        assertThat(rateLimiter.tryAcquire("tickets", group, "ip:b")).isZero();
+        assertThat(rateLimiter.tryAcquire("tickets", group, "ip:a")).isPositive();
+    }
+
+    @Test
+    void clientsBeyondAFullTableShareOneLimitedBucket() {
+        RateLimiter rateLimiter = new RateLimiter(properties);
+        rateLimiter.tryAcquire("tickets", group, "ip:a");
+        rateLimiter.tryAcquire("tickets", group, "ip:b");
+
+        assertThat(rateLimiter.tryAcquire("tickets", group, "ip:c")).isZero();
+        // Not failing open: the next new client draws from the same exhausted overflow bucket
+        assertThat(rateLimiter.tryAcquire("tickets", group, "ip:d")).isPositive();
+        assertThat(rateLimiter.tryAcquire("users", group, "ip:d")).isZero();
+        // Clients that already have a bucket keep it
+        assertThat(rateLimiter.tryAcquire("tickets", group, "ip:a")).isPositive();
+    }
+}
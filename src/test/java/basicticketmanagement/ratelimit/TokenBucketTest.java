@@ -0,0 +1,105 @@
+package basicticketmanagement.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void grantsAFullBurstThenAsksToWaitOneInterval() {
+        TokenBucket bucket = new TokenBucket(5, 1.0, 0);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(bucket.tryAcquire(0)).as("token %d", i).isZero();
+        }
+        assertThat(bucket.tryAcquire(0)).isEqualTo(SECOND);
+    }
+
+    @Test
+    void refillsOneTokenPerInterval() {
+        TokenBucket bucket = new TokenBucket(5, 2.0, 0);
+        drain(bucket, 5, 0);
+
+        assertThat(bucket.tryAcquire(SECOND / 2 - 1)).isEqualTo(1);
+        assertThat(bucket.tryAcquire(SECOND / 2)).isZero();
+        assertThat(bucket.tryAcquire(SECOND / 2)).isEqualTo(SECOND / 2);
+        assertThat(bucket.tryAcquire(SECOND)).isZero();
+    }
+
+    @Test
+    void rejectedRequestsDoNotConsumeTokens() {
+        TokenBucket bucket = new TokenBucket(1, 1.0, 0);
+        bucket.tryAcquire(0);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(bucket.tryAcquire(SECOND / 2)).isPositive();
+        }
+        assertThat(bucket.tryAcquire(SECOND)).isZero();
+    }
+
+    @Test
+    void neverRefillsBeyondCapacity() {
+        TokenBucket bucket = new TokenBucket(3, 1.0, 0);
+
+        drain(bucket, 3, 1000 * SECOND);
+        assertThat(bucket.tryAcquire(1000 * SECOND)).isPositive();
+    }
+
+    @Test
+    void isIdleOnlyOnceCompletelyRefilled() {
+        TokenBucket bucket = new TokenBucket(5, 1.0, 0);
+        assertThat(bucket.isIdle(0)).isTrue();
+
+        drain(bucket, 5, 0);
+        assertThat(bucket.isIdle(0)).isFalse();
+        assertThat(bucket.isIdle(5 * SECOND - 1)).isFalse();
+        assertThat(bucket.isIdle(5 * SECOND)).isTrue();
+    }
+
+    @Test
+    void concurrentCallersShareOneBurst() throws Exception {
+        TokenBucket bucket = new TokenBucket(100, 1.0, 0);
+        int threads = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    int granted = 0;
+                    for (int i = 0; i < 1000; i++) {
+                        if (bucket.tryAcquire(0) == 0) {
+                            granted++;
+                        }
+                    }
+                    return granted;
+                }));
+            }
+            start.countDown();
+            int granted = 0;
+            for (Future<Integer> future : futures) {
+                granted += future.get();
+            }
+            assertThat(granted).isEqualTo(100);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void drain(TokenBucket bucket, int tokens, long nowNanos) {
+        for (int i = 0; i < tokens; i++) {
+            assertThat(bucket.tryAcquire(nowNanos)).isZero();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package basicticketmanagement.seed;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+class DataSeederTest {
+
+    private static final String TICKETS_SQL =
+            "SELECT t.description, t.status, c.username, e.username, t.created_at, t.acknowledged_at FROM tickets t " +
+            "JOIN customers c ON c.id = t.created_by_id LEFT JOIN engineers e ON e.id = t.acknowledged_by_id " +
+            "ORDER BY t.created_at, t.description, c.username";
+
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(
+            new DriverManagerDataSource("jdbc:h2:mem:seeder;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", ""));
+    private final SeedProperties properties = new SeedProperties();
+    private final DataSeeder seeder = new DataSeeder(properties, jdbcTemplate, new BCryptPasswordEncoder(4));
+
+    @BeforeEach
+    void setUp() {
+        properties.setCustomers(50);
+        properties.setEngineers(5);
+        properties.setTickets(2_000);
+        properties.setBatchSize(100);
+        properties.setThreads(4);
+        properties.setEndTime(Instant.parse("2025-01-01T00:00:00Z"));
+        createTables();
+    }
+
+    @AfterEach
+    void dropTables() {
+        jdbcTemplate.execute("DROP TABLE tickets");
+        jdbcTemplate.execute("DROP TABLE customers");
+        jdbcTemplate.execute("DROP TABLE engineers");
+    }
+
+    @Test
+    void seedsTheSameDatasetEveryTime() throws Exception {
+        seeder.run();
+        List<List<Object>> first = tickets();
+        assertThat(first).hasSize(2_000);
+
+        dropTables();
+        createTables();
+        seeder.run();
+
+        assertThat(tickets()).isEqualTo(first);
+    }
+
+    @Test
+    void leavesACompleteDatasetAlone() throws Exception {
+        seeder.run();
+        seeder.run();
+
+        assertThat(count("customers")).isEqualTo(50);
+        assertThat(count("engineers")).isEqualTo(5);
+        assertThat(count("tickets")).isEqualTo(2_000);
+    }
+
+    @Test
+    void refusesAPartialDataset() throws Exception {
+        seeder.run();
+        // As left behind by a run interrupted while writing tickets
+        jdbcTemplate.update("DELETE FROM tickets WHERE id > 1500");
+
+        assertThatIllegalStateException().isThrownBy(seeder::run).withMessageContaining("1500 tickets");
+    }
+
+    @Test
+    void refusesADatasetOfOtherSizes() throws Exception {
+        seeder.run();
+        properties.setCustomers(60);
+
+        assertThatIllegalStateException().isThrownBy(seeder::run).withMessageContaining("50 seeded customers");
+    }
+
+    private void createTables() {
+        for (String table : new String[]{"customers", "engineers"}) {
+            jdbcTemplate.execute("CREATE TABLE " + table + " (id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                    "username VARCHAR(255) NOT NULL UNIQUE, password VARCHAR(255) NOT NULL, role VARCHAR(32) NOT NULL)");
+        }
+        jdbcTemplate.execute("CREATE TABLE tickets (id BIGINT AUTO_INCREMENT PRIMARY KEY, description VARCHAR(255), " +
+                "status VARCHAR(32), created_by_id BIGINT NOT NULL REFERENCES customers (id), " +
+                "acknowledged_by_id BIGINT REFERENCES engineers (id), created_at TIMESTAMP, acknowledged_at TIMESTAMP)");
+    }
+
+    private List<List<Object>> tickets() {
+        return jdbcTemplate.query(TICKETS_SQL, (rs, i) -> List.of(rs.getString(1), rs.getString(2), rs.getString(3),
+                String.valueOf(rs.getString(4)), String.valueOf(rs.getTimestamp(5)), String.valueOf(rs.getTimestamp(6))));
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+    }
+}
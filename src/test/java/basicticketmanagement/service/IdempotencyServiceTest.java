@@ -0,0 +1,87 @@
+package basicticketmanagement.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdempotencyServiceTest {
+
+    private final AtomicInteger runs = new AtomicInteger();
+
+    @Test
+    void repeatsAreReplayedWithoutRunningTheActionAgain() {
+        IdempotencyService service = service(100, Duration.ofSeconds(1));
+
+        ResponseEntity<String> first = service.execute("tickets", "key", "body", String.class, this::created);
+        ResponseEntity<String> repeat = service.execute("tickets", "key", "body", String.class, this::created);
+
+        assertThat(runs).hasValue(1);
+        assertThat(repeat.getBody()).isEqualTo(first.getBody());
+        assertThat(repeat.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER)).isEqualTo("true");
+    }
+
+    @Test
+    void keyReusedWithAnotherBodyIsUnprocessable() {
+        IdempotencyService service = service(100, Duration.ofSeconds(1));
+        service.execute("tickets", "key", "body", String.class, this::created);
+
+        ResponseEntity<String> response = service.execute("tickets", "key", "other body", String.class, this::created);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    void runningRequestIsNeitherEvictedNorWaitedForForever() throws Exception {
+        // One entry per segment, so every further key pushes the segments past their share
+        IdempotencyService service = service(16, Duration.ofMillis(100));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<ResponseEntity<String>> leader = CompletableFuture.supplyAsync(() ->
+                service.execute("tickets", "slow", "body", String.class, () -> {
+                    started.countDown();
+                    await(release);
+                    return created();
+                }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        for (int i = 0; i < 1_000; i++) {
+            service.execute("tickets", "key" + i, "body", String.class, this::created);
+        }
+        ResponseEntity<String> retry = service.execute("tickets", "slow", "body", String.class, this::created);
+
+        assertThat(retry.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(runs).hasValue(1_000);
+
+        release.countDown();
+        assertThat(leader.get(5, TimeUnit.SECONDS).getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(service.execute("tickets", "slow", "body", String.class, this::created).getHeaders()
+                .getFirst(IdempotencyService.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(runs).hasValue(1_001);
+    }
+
+    private ResponseEntity<String> created() {
+        return ResponseEntity.status(HttpStatus.CREATED).body("ticket " + runs.incrementAndGet());
+    }
+
+    private static IdempotencyService service(int maxEntries, Duration pendingWait) {
+        return new IdempotencyService(null, new ObjectMapper(), Duration.ofHours(1), maxEntries, false, pendingWait);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package basicticketmanagement.service;
+
+import basicticketmanagement.model.Customer;
+import basicticketmanagement.model.Engineer;
+import basicticketmanagement.model.Ticket;
+import basicticketmanagement.model.TicketStatus;
+import basicticketmanagement.model.UserRole;
+import basicticketmanagement.repository.CustomerRepository;
+import basicticketmanagement.repository.EngineerRepository;
+import basicticketmanagement.repository.JdbcTimestamps;
+import basicticketmanagement.repository.TicketRepository;
+import basicticketmanagement.sla.SlaEngine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs many engineers claiming tickets at once against MySQL and checks that no ticket is handed out twice.
+ * H2 does not implement SKIP LOCKED the way InnoDB does, so this needs a real MySQL server from
+ * Testcontainers and is skipped where Docker is not available. Prints the claim throughput.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // claimers must see each other's commits
+@Import(TicketService.class)
+class TicketClaimConcurrencyTest {
+
+    private static final int TICKETS = 5_000;
+    private static final int CLAIMERS = 16;
+    private static final int CLAIM_SIZE = 10;
+
+    @Container
+    @ServiceConnection
+    static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.4");
+
+    @Autowired
+    private TicketService ticketService;
+    @Autowired
+    private TicketRepository ticketRepo;
+    @Autowired
+    private CustomerRepository customerRepo;
+    @Autowired
+    private EngineerRepository engineerRepo;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private TicketEventWriter ticketEventWriter;
+    @MockitoBean
+    private TicketRollupService ticketRollupService;
+    @MockitoBean
+    private SlaEngine slaEngine;
+    @MockitoBean
+    private TicketAttachmentService ticketAttachmentService;
+
+    @AfterEach
+    void cleanUp() {
+        ticketRepo.deleteAllInBatch();
+        engineerRepo.deleteAllInBatch();
+        customerRepo.deleteAllInBatch();
+    }
+
+    @Test
+    void concurrentClaimersNeverGetTheSameTicket() throws Exception {
+        Customer customer = new Customer();
+        customer.setUsername("customer");
+        customer.setPassword("secret");
+        customer.setRole(UserRole.CUSTOMER);
+        long customerId = customerRepo.save(customer).getId();
+        insertCreatedTickets(customerId);
+
+        List<String> engineers = new ArrayList<>();
+        for (int i = 0; i < CLAIMERS; i++) {
+            Engineer engineer = new Engineer();
+            engineer.setUsername("engineer" + i);
+            engineer.setPassword("secret");
+            engineer.setRole(UserRole.ENGINEER);
+            engineers.add(engineerRepo.save(engineer).getUsername());
+        }
+
+        Set<Long> claimed = ConcurrentHashMap.newKeySet();
+        AtomicInteger duplicates = new AtomicInteger();
+        AtomicInteger claims = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(CLAIMERS);
+        long elapsedNanos;
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (String username : engineers) {
+                futures.add(executor.submit(() -> {
+                    SecurityContextHolder.getContext().setAuthentication(
+                            new UsernamePasswordAuthenticationToken(username, null, List.of()));
+                    start.await();
+                    List<Ticket> batch;
+                    while (!(batch = ticketService.claimTickets(CLAIM_SIZE)).isEmpty()) {
+                        claims.incrementAndGet();
+                        for (Ticket ticket : batch) {
+                            assertThat(ticket.getAcknowledgedBy().getUsername()).isEqualTo(username);
+                            if (!claimed.add(ticket.getId())) {
+                                duplicates.incrementAndGet();
+                            }
+                        }
+                    }
+                    SecurityContextHolder.clearContext();
+                    return null;
+                }));
+            }
+            long startNanos = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            elapsedNanos = System.nanoTime() - startNanos;
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(duplicates).hasValue(0);
+        assertThat(claimed).hasSize(TICKETS);
+        assertThat(ticketRepo.findAll()).allMatch(ticket -> ticket.getStatus() == TicketStatus.ACKNOWLEDGED);
+        double seconds = elapsedNanos / 1e9;
+        System.out.printf("%d claimers took %d tickets in %d claims of up to %d in %.2f s: %.0f claims/s, %.0f tickets/s%n",
+                CLAIMERS, claimed.size(), claims.get(), CLAIM_SIZE, seconds, claims.get() / seconds, claimed.size() / seconds);
+    }
+
+    private void insertCreatedTickets(long customerId) {
+        Instant base = Instant.now().minusSeconds(TICKETS);
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO tickets (description, status, created_by_id, created_at) VALUES (?, ?, ?, ?)",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ps.setString(1, "Ticket " + i);
+                        ps.setString(2, TicketStatus.CREATED.name());
+                        ps.setLong(3, customerId);
+                        JdbcTimestamps.set(ps, 4, base.plusSeconds(i));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return TICKETS;
+                    }
+                });
+    }
+}
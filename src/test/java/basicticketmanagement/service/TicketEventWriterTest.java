@@ -0,0 +1,79 @@
+package basicticketmanagement.service;
+
+import basicticketmanagement.model.TicketStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TicketEventWriterTest {
+
+    private final DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:ticketevents;DB_CLOSE_DELAY=-1", "sa", "");
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+    @BeforeEach
+    void createTable() {
+        jdbcTemplate.execute("CREATE TABLE ticket_events (id BIGINT AUTO_INCREMENT PRIMARY KEY, ticket_id BIGINT NOT NULL, " +
+                "from_status VARCHAR(32), to_status VARCHAR(32) NOT NULL, actor VARCHAR(255) NOT NULL, " +
+                "engineer_id BIGINT, ts TIMESTAMP NOT NULL)");
+    }
+
+    @AfterEach
+    void dropTable() {
+        jdbcTemplate.execute("DROP TABLE ticket_events");
+    }
+
+    @Test
+    void writesOnTheCallingThreadWhenTheQueueIsFull() {
+        // Not started, so nothing leaves the queue in the background
+        TicketEventWriter writer = writer(2);
+
+        for (long ticketId = 1; ticketId <= 5; ticketId++) {
+            writer.record(ticketId, null, TicketStatus.CREATED, "alice", null);
+        }
+
+        assertThat(ticketIds()).containsExactly(3L, 4L, 5L);
+    }
+
+    @Test
+    void shutdownWritesEverythingStillQueued() throws Exception {
+        TicketEventWriter writer = writer(100);
+        for (long ticketId = 1; ticketId <= 5; ticketId++) {
+            writer.record(ticketId, TicketStatus.CREATED, TicketStatus.ACKNOWLEDGED, "bob", 7L);
+        }
+        assertThat(ticketIds()).isEmpty();
+
+        writer.shutdown();
+
+        assertThat(ticketIds()).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(jdbcTemplate.queryForList("SELECT engineer_id FROM ticket_events", Long.class)).containsOnly(7L);
+    }
+
+    @Test
+    void runningWriterLosesNothingOnShutdown() throws Exception {
+        TicketEventWriter writer = writer(10_000);
+        writer.start();
+        for (long ticketId = 1; ticketId <= 2_000; ticketId++) {
+            writer.record(ticketId, null, TicketStatus.CREATED, "alice", null);
+        }
+
+        writer.shutdown();
+
+        assertThat(ticketIds()).hasSize(2_000).doesNotHaveDuplicates();
+    }
+
+    private TicketEventWriter writer(int queueCapacity) {
+        return new TicketEventWriter(jdbcTemplate, new DataSourceTransactionManager(dataSource), queueCapacity, 100, 10);
+    }
+
+    private List<Long> ticketIds() {
+        return jdbcTemplate.queryForList("SELECT ticket_id FROM ticket_events ORDER BY ticket_id", Long.class);
+    }
+}
@@ -0,0 +1,145 @@
+package basicticketmanagement.service;
+
+import basicticketmanagement.model.Customer;
+import basicticketmanagement.model.Engineer;
+import basicticketmanagement.model.RollupGranularity;
+import basicticketmanagement.model.Ticket;
+import basicticketmanagement.model.TicketEvent;
+import basicticketmanagement.model.TicketRollup;
+import basicticketmanagement.model.TicketStatus;
+import basicticketmanagement.model.UserRole;
+import basicticketmanagement.repository.TicketRollupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the rollup upsert and the history backfill against H2 in MySQL mode.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Import(TicketRollupService.class)
+class TicketRollupServiceTest {
+
+    private static final Duration TEN_MINUTES = Duration.ofMinutes(10);
+
+    @Autowired
+    private TicketRollupService rollupService;
+    @Autowired
+    private TicketRollupRepository rollupRepo;
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Customer customer;
+    private Engineer engineer;
+
+    @BeforeEach
+    void setUp() {
+        customer = new Customer();
+        customer.setUsername("customer");
+        customer.setPassword("secret");
+        customer.setRole(UserRole.CUSTOMER);
+        entityManager.persist(customer);
+        engineer = new Engineer();
+        engineer.setUsername("engineer");
+        engineer.setPassword("secret");
+        engineer.setRole(UserRole.ENGINEER);
+        entityManager.persist(engineer);
+        entityManager.flush();
+    }
+
+    @Test
+    void flushAddsToTheCountsAlreadyStored() {
+        rollupService.record(createdTicket(), null);
+        rollupService.record(createdTicket(), null);
+        rollupService.flush();
+        rollupService.record(createdTicket(), null);
+        rollupService.flush();
+
+        for (RollupGranularity granularity : RollupGranularity.values()) {
+            long[] counters = sum(granularity, 0);
+            assertThat(counters[RollupCounters.CREATED]).as(granularity.name()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    void flushResolvesTheLatencyOfAcknowledgementsWithoutCreationTime() {
+        Ticket stored = new Ticket();
+        stored.setDescription("Printer on fire");
+        stored.setStatus(TicketStatus.ACKNOWLEDGED);
+        stored.setCreatedBy(customer);
+        stored.setCreatedAt(Instant.now().minus(TEN_MINUTES));
+        entityManager.persistAndFlush(stored);
+
+        // As returned by the single-UPDATE acknowledge path
+        Ticket acknowledged = new Ticket();
+        acknowledged.setId(stored.getId());
+        acknowledged.setStatus(TicketStatus.ACKNOWLEDGED);
+        acknowledged.setAcknowledgedBy(engineer);
+        acknowledged.setAcknowledgedAt(stored.getCreatedAt().plus(TEN_MINUTES));
+        acknowledged.setCreatedAt(null);
+        rollupService.record(acknowledged, TicketStatus.CREATED);
+        rollupService.flush();
+
+        long[] counters = sum(RollupGranularity.DAY, engineer.getId());
+        assertThat(counters[RollupCounters.ACKNOWLEDGED]).isEqualTo(1);
+        assertThat(counters[RollupCounters.ACK_LATENCY_COUNT]).isEqualTo(1);
+        assertThat(counters[RollupCounters.ACK_LATENCY_SUM]).isEqualTo(TEN_MINUTES.toMillis());
+        // Second histogram bucket: within 15 minutes
+        assertThat(counters[RollupCounters.ACK_HISTOGRAM + 1]).isEqualTo(1);
+    }
+
+    @Test
+    void backfillAttributesEventsToTheEngineerRecordedWithThem() {
+        Instant yesterday = Instant.now().truncatedTo(ChronoUnit.DAYS).minus(1, ChronoUnit.DAYS);
+        Instant createdAt = yesterday.plus(Duration.ofHours(12));
+        Ticket ticket = new Ticket();
+        ticket.setDescription("Printer on fire");
+        ticket.setStatus(TicketStatus.CREATED);
+        ticket.setCreatedBy(customer);
+        ticket.setCreatedAt(createdAt);
+        entityManager.persist(ticket);
+        entityManager.persist(new TicketEvent(null, ticket.getId(), null, TicketStatus.CREATED, "customer", null, createdAt));
+        entityManager.persist(new TicketEvent(null, ticket.getId(), TicketStatus.CREATED, TicketStatus.ACKNOWLEDGED,
+                "engineer", engineer.getId(), createdAt.plus(TEN_MINUTES)));
+        entityManager.flush();
+
+        assertThat(rollupService.backfill(yesterday, yesterday.plus(1, ChronoUnit.DAYS))).isEqualTo(2);
+
+        long[] unassigned = sum(RollupGranularity.DAY, 0);
+        assertThat(unassigned[RollupCounters.CREATED]).isEqualTo(1);
+        long[] assigned = sum(RollupGranularity.DAY, engineer.getId());
+        assertThat(assigned[RollupCounters.ACKNOWLEDGED]).isEqualTo(1);
+        assertThat(assigned[RollupCounters.ACK_LATENCY_SUM]).isEqualTo(TEN_MINUTES.toMillis());
+    }
+
+    private Ticket createdTicket() {
+        Ticket ticket = new Ticket();
+        ticket.setStatus(TicketStatus.CREATED);
+        ticket.setCreatedAt(Instant.now());
+        return ticket;
+    }
+
+    // Sums the engineer's buckets around now, in case the test crosses an hour or day boundary
+    private long[] sum(RollupGranularity granularity, long engineerId) {
+        Instant now = Instant.now();
+        List<TicketRollup> rows = rollupRepo.findRangeForEngineer(
+                granularity, now.minus(2, ChronoUnit.DAYS), now.plus(1, ChronoUnit.DAYS), engineerId);
+        long[] total = new long[RollupCounters.WIDTH];
+        rows.forEach(row -> RollupCounters.add(total, RollupCounters.of(row)));
+        return total;
+    }
+}
@@ -0,0 +1,145 @@
+package basicticketmanagement.service;
+
+import basicticketmanagement.controller.TicketController;
+import basicticketmanagement.dto.TicketCreationDTO;
+import basicticketmanagement.model.Customer;
+import basicticketmanagement.model.Engineer;
+import basicticketmanagement.model.Ticket;
+import basicticketmanagement.model.TicketStatus;
+import basicticketmanagement.model.UserRole;
+import basicticketmanagement.sla.SlaEngine;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Counts the statements the ticket write paths send to the database, using Hibernate statistics
+ * on H2 in MySQL mode: creating a ticket must be a single INSERT and acknowledging a CREATED
+ * ticket a single UPDATE, with missing customers and engineers caught by the foreign keys.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Import(TicketService.class)
+class TicketServiceStatementCountTest {
+
+    private static final long MISSING_ID = 999_999L;
+
+    @Autowired
+    private TicketService ticketService;
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private TicketEventWriter ticketEventWriter;
+    @MockitoBean
+    private TicketRollupService ticketRollupService;
+    @MockitoBean
+    private SlaEngine slaEngine;
+    @MockitoBean
+    private TicketAttachmentService ticketAttachmentService;
+
+    private TicketController ticketController;
+    private Statistics statistics;
+    private Customer customer;
+    private Engineer engineer;
+
+    @BeforeEach
+    void setUp() {
+        IdempotencyService idempotencyService = new IdempotencyService(
+                null, new ObjectMapper(), Duration.ofHours(1), 100, false, Duration.ofSeconds(1));
+        ticketController = new TicketController(ticketService, idempotencyService);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        customer = new Customer();
+        customer.setUsername("customer");
+        customer.setPassword("secret");
+        customer.setRole(UserRole.CUSTOMER);
+        entityManager.persist(customer);
+        engineer = new Engineer();
+        engineer.setUsername("engineer");
+        engineer.setPassword("secret");
+        engineer.setRole(UserRole.ENGINEER);
+        entityManager.persist(engineer);
+        entityManager.flush();
+    }
+
+    @Test
+    void createTicketIsOneInsertAndNoSelect() {
+        startCounting();
+
+        Ticket ticket = ticketService.createTicket(customer.getId(), "Printer on fire", null);
+
+        assertThat(ticket.getId()).isNotNull();
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getQueryExecutionCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void acknowledgeCreatedTicketIsOneUpdate() {
+        Long ticketId = persistCreatedTicket();
+        startCounting();
+
+        Ticket ticket = ticketService.acknowledgeTicket(ticketId, engineer.getId());
+
+        assertThat(ticket.getStatus()).isEqualTo(TicketStatus.ACKNOWLEDGED);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getEntityInsertCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        entityManager.clear();
+        Ticket stored = entityManager.find(Ticket.class, ticketId);
+        assertThat(stored.getStatus()).isEqualTo(TicketStatus.ACKNOWLEDGED);
+        assertThat(stored.getAcknowledgedBy().getId()).isEqualTo(engineer.getId());
+    }
+
+    @Test
+    void createTicketForUnknownCustomerIsBadRequest() {
+        TicketCreationDTO request = new TicketCreationDTO("Printer on fire", MISSING_ID, null);
+
+        assertThat(ticketController.createTicket(request, null).getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void acknowledgeByUnknownEngineerIsNotFound() {
+        Long ticketId = persistCreatedTicket();
+
+        assertThat(ticketController.acknowledgeTicket(ticketId, MISSING_ID).getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    private Long persistCreatedTicket() {
+        Ticket ticket = new Ticket();
+        ticket.setDescription("Printer on fire");
+        ticket.setStatus(TicketStatus.CREATED);
+        ticket.setCreatedBy(customer);
+        ticket.setCreatedAt(Instant.now());
+        return entityManager.persistAndGetId(ticket, Long.class);
+    }
+
+    // Starts from an empty persistence context so nothing is served from the first-level cache
+    private void startCounting() {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+}
@@ -0,0 +1,127 @@
+package basicticketmanagement.service;
+
+import basicticketmanagement.model.Customer;
+import basicticketmanagement.model.Engineer;
+import basicticketmanagement.model.Ticket;
+import basicticketmanagement.model.TicketStatus;
+import basicticketmanagement.model.UserRole;
+import basicticketmanagement.repository.CustomerRepository;
+import basicticketmanagement.repository.EngineerRepository;
+import basicticketmanagement.repository.TicketRepository;
+import basicticketmanagement.sla.SlaEngine;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Throughput of creating and acknowledging tickets on in-memory H2, comparing the write path in
+ * TicketService (references and foreign keys, no SELECT) with the previous one that loaded the
+ * customer, engineer and ticket with findById before writing. Every call commits on its own, as
+ * it does behind the controller. H2 has no network round trip, so against MySQL the gap is larger.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(TicketService.class)
+class TicketWritePathBenchmark {
+
+    private static final int WARMUP = 5_000;
+    private static final int MEASURED = 20_000;
+
+    @Autowired
+    private TicketService ticketService;
+    @Autowired
+    private TicketRepository ticketRepo;
+    @Autowired
+    private CustomerRepository customerRepo;
+    @Autowired
+    private EngineerRepository engineerRepo;
+
+    @MockitoBean
+    private TicketEventWriter ticketEventWriter;
+    @MockitoBean
+    private TicketRollupService ticketRollupService;
+    @MockitoBean
+    private SlaEngine slaEngine;
+    @MockitoBean
+    private TicketAttachmentService ticketAttachmentService;
+
+    @Test
+    void createAndAcknowledge() {
+        Customer customer = new Customer();
+        customer.setUsername("customer");
+        customer.setPassword("secret");
+        customer.setRole(UserRole.CUSTOMER);
+        long customerId = customerRepo.save(customer).getId();
+        Engineer engineer = new Engineer();
+        engineer.setUsername("engineer");
+        engineer.setPassword("secret");
+        engineer.setRole(UserRole.ENGINEER);
+        long engineerId = engineerRepo.save(engineer).getId();
+
+        long[] loadingIds = new long[WARMUP + MEASURED];
+        long[] referenceIds = new long[WARMUP + MEASURED];
+        report("create, findById first", loadingIds, i -> createLoading(customerId));
+        report("create, references", referenceIds,
+                i -> ticketService.createTicket(customerId, "Printer on fire", null).getId());
+        report("acknowledge, findById first", null, i -> acknowledgeLoading(loadingIds[(int) i], engineerId));
+        report("acknowledge, references", null,
+                i -> ticketService.acknowledgeTicket(referenceIds[(int) i], engineerId).getId());
+    }
+
+    // The write paths as they were before tickets were written without pre-validation reads
+    private long createLoading(long customerId) {
+        Customer customer = customerRepo.findById(customerId)
+                .orElseThrow(() -> new EntityNotFoundException("Customer not found with id " + customerId));
+        Ticket ticket = new Ticket();
+        ticket.setCreatedBy(customer);
+        ticket.setDescription("Printer on fire");
+        ticket.setCreatedAt(Instant.now());
+        ticket.setStatus(TicketStatus.CREATED);
+        return ticketRepo.save(ticket).getId();
+    }
+
+    private long acknowledgeLoading(long ticketId, long engineerId) {
+        Ticket ticket = ticketRepo.findById(ticketId)
+                .orElseThrow(() -> new EntityNotFoundException("Ticket not found with id " + ticketId));
+        Engineer engineer = engineerRepo.findById(engineerId)
+                .orElseThrow(() -> new EntityNotFoundException("Engineer not found with id " + engineerId));
+        ticket.setStatus(TicketStatus.ACKNOWLEDGED);
+        ticket.setAcknowledgedBy(engineer);
+        ticket.setAcknowledgedAt(Instant.now());
+        return ticketRepo.save(ticket).getId();
+    }
+
+    private static void report(String scenario, long[] results, LongUnaryOperator write) {
+        for (int i = 0; i < WARMUP; i++) {
+            store(results, i, write.applyAsLong(i));
+        }
+        long start = System.nanoTime();
+        for (int i = WARMUP; i < WARMUP + MEASURED; i++) {
+            store(results, i, write.applyAsLong(i));
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("%-28s %7.0f us/ticket %8.0f tickets/s%n",
+                scenario, elapsed / 1000.0 / MEASURED, MEASURED * 1e9 / elapsed);
+    }
+
+    private static void store(long[] results, int i, long id) {
+        if (results != null) {
+            results[i] = id;
+        }
+    }
+}
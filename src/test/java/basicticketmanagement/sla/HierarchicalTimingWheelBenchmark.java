@@ -0,0 +1,56 @@
+package basicticketmanagement.sla;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Schedules one million SLA deadlines spread over a week on the wheel geometry SlaEngine uses
+ * (1s ticks, 4 levels), then drains the first day. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class HierarchicalTimingWheelBenchmark {
+
+    private static final int DEADLINES = 1_000_000;
+    private static final long DAY_MILLIS = 86_400_000L;
+    private static final int ROUNDS = 5;
+
+    @Test
+    void scheduleAndDrainOneMillionDeadlines() {
+        for (int round = 1; round <= ROUNDS; round++) {
+            long start = 1_700_000_000_000L;
+            SplittableRandom random = new SplittableRandom(round);
+            long[] deadlines = new long[DEADLINES];
+            int dueWithinDay = 0;
+            for (int i = 0; i < DEADLINES; i++) {
+                deadlines[i] = start + random.nextLong(7 * DAY_MILLIS);
+                if (deadlines[i] <= start + DAY_MILLIS) {
+                    dueWithinDay++;
+                }
+            }
+            HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(1000, 4, start, DEADLINES);
+
+            long scheduleStart = System.nanoTime();
+            for (int i = 0; i < DEADLINES; i++) {
+                wheel.schedule(i, deadlines[i], (long) i);
+            }
+            long scheduleNanos = System.nanoTime() - scheduleStart;
+
+            long drainStart = System.nanoTime();
+            int expired = 0;
+            for (long now = start; now <= start + DAY_MILLIS; now += 1000) {
+                expired += wheel.advanceTo(now).size();
+            }
+            long drainNanos = System.nanoTime() - drainStart;
+
+            assertThat(expired).isEqualTo(dueWithinDay);
+            assertThat(wheel.size()).isEqualTo(DEADLINES - dueWithinDay);
+            System.out.printf("round %d: scheduled %d deadlines in %d ms (%.0f ns each), drained %d over 86400 ticks in %d ms%n",
+                    round, DEADLINES, scheduleNanos / 1_000_000, (double) scheduleNanos / DEADLINES,
+                    expired, drainNanos / 1_000_000);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package basicticketmanagement.sla;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HierarchicalTimingWheelTest {
+
+    // 1ms ticks over 3 levels: level 1 starts at 64 ticks, level 2 at 4096, the span ends at 262143
+    private static final long SPAN = (1L << 18) - 1;
+
+    private final HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(1, 3, 0, 16);
+
+    @Test
+    void firesAtTheDeadlineTickAndNotBefore() {
+        wheel.schedule(1, 10, "a");
+
+        assertThat(wheel.advanceTo(9)).isEmpty();
+        assertThat(wheel.advanceTo(10)).containsExactly("a");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void cascadesExactlyAtLevelBoundaries() {
+        for (long deadline : new long[]{63, 64, 65, 4095, 4096, 4097, 4096 + 64}) {
+            HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(1, 3, 0, 16);
+            wheel.schedule(deadline, deadline, deadline);
+
+            assertThat(wheel.advanceTo(deadline - 1)).as("before %d", deadline).isEmpty();
+            assertThat(wheel.advanceTo(deadline)).as("at %d", deadline).containsExactly(deadline);
+        }
+    }
+
+    @Test
+    void cascadesFromAMidRevolutionStart() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(1, 3, 70, 16);
+        wheel.schedule(1, 70 + 4095, "a");
+        wheel.schedule(2, 70 + 64, "b");
+
+        assertThat(wheel.advanceTo(70 + 63)).isEmpty();
+        assertThat(wheel.advanceTo(70 + 64)).containsExactly("b");
+        assertThat(wheel.advanceTo(70 + 4094)).isEmpty();
+        assertThat(wheel.advanceTo(70 + 4095)).containsExactly("a");
+    }
+
+    @Test
+    void roundsDeadlinesUpToWholeTicks() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(1000, 3, 0, 16);
+        wheel.schedule(1, 1500, "a");
+
+        assertThat(wheel.advanceTo(1999)).isEmpty();
+        assertThat(wheel.advanceTo(2000)).containsExactly("a");
+    }
+
+    @Test
+    void firesPastDeadlinesOnTheNextTick() {
+        wheel.advanceTo(100);
+        wheel.schedule(1, 50, "late");
+
+        assertThat(wheel.advanceTo(101)).containsExactly("late");
+    }
+
+    @Test
+    void cancelledDeadlinesNeverFire() {
+        wheel.schedule(1, 10, "a");
+        wheel.schedule(2, 10, "b");
+        wheel.schedule(3, 10, "c");
+
+        assertThat(wheel.cancel(2)).isTrue();
+        assertThat(wheel.cancel(2)).isFalse();
+        assertThat(wheel.size()).isEqualTo(2);
+        assertThat(wheel.advanceTo(10)).containsExactlyInAnyOrder("a", "c");
+    }
+
+    @Test
+    void cancelsAfterCascading() {
+        wheel.schedule(1, 200, "a");
+        // Moved from level 1 to level 0 at tick 192
+        wheel.advanceTo(195);
+
+        assertThat(wheel.cancel(1)).isTrue();
+        assertThat(wheel.advanceTo(300)).isEmpty();
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void reschedulingReplacesThePendingDeadline() {
+        wheel.schedule(1, 10, "first");
+        wheel.schedule(1, 5000, "second");
+
+        assertThat(wheel.scheduleIfAbsent(1, 20, "third")).isFalse();
+        assertThat(wheel.advanceTo(4999)).isEmpty();
+        assertThat(wheel.advanceTo(5000)).containsExactly("second");
+        assertThat(wheel.scheduleIfAbsent(1, 6000, "fourth")).isTrue();
+    }
+
+    @Test
+    void keepsDeadlinesBeyondTheSpanUntilTheyAreDue() {
+        long deadline = 3 * SPAN + 12_345;
+        wheel.schedule(1, deadline, "far");
+        wheel.schedule(2, SPAN, "edge");
+
+        assertThat(wheel.advanceTo(SPAN - 1)).isEmpty();
+        assertThat(wheel.advanceTo(SPAN)).containsExactly("edge");
+        assertThat(wheel.advanceTo(deadline - 1)).isEmpty();
+        assertThat(wheel.advanceTo(deadline)).containsExactly("far");
+    }
+
+    @Test
+    void expiresEverythingDueWithinOneAdvance() {
+        for (long key = 0; key < 10_000; key++) {
+            wheel.schedule(key, key * 37 % 100_000, "k" + key);
+        }
+
+        List<String> expired = wheel.advanceTo(100_000);
+
+        assertThat(expired).hasSize(10_000).doesNotHaveDuplicates();
+        assertThat(wheel.size()).isZero();
+    }
+}